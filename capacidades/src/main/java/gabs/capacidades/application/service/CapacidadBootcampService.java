@@ -7,6 +7,7 @@ import gabs.capacidades.application.port.CapacidadBootcampUseCases;
 import gabs.capacidades.domain.exception.BootcampNotFoundException;
 import gabs.capacidades.domain.exception.CapacidadNotFoundException;
 import gabs.capacidades.domain.exception.ValidationException;
+import gabs.capacidades.domain.model.Capacidad;
 import gabs.capacidades.domain.model.CapacidadBootcamp;
 import gabs.capacidades.domain.port.CapacidadBootcampRepositoryPort;
 import gabs.capacidades.domain.port.CapacidadRepositoryPort;
@@ -29,21 +30,22 @@ public class CapacidadBootcampService implements CapacidadBootcampUseCases {
     public Flux<CapacidadBootcampResponse> getAllByBootcamp(Long bootcampId) {
         return repository.findByBootcampId(bootcampId)
                 .switchIfEmpty(Mono.error(new BootcampNotFoundException(bootcampId)))
-                .flatMap(capacidadBootcamp ->
+                .flatMapSequential(capacidadBootcamp ->
                         capacidadRepository.findById(capacidadBootcamp.getCapacidadId())
                                 .switchIfEmpty(Mono.error(new CapacidadNotFoundException(capacidadBootcamp.getCapacidadId())))
-                                .flatMap(capacidad ->
-                                        tecnologiaClient.getTecnologiasByCapacidadId(capacidad.getId())
-                                                .collectList()
-                                                .map(tecnologias -> {
-                                                    CapacidadBootcampResponse response = new CapacidadBootcampResponse();
-                                                    response.setId(capacidad.getId());
-                                                    response.setNombre(capacidad.getNombre());
-                                                    response.setTecnologias(tecnologias);
-                                                    return response;
-                                                })
-                                )
-                );
+                )
+                .collectList()
+                // Una sola llamada a tecnologias para todas las capacidades del bootcamp
+                .flatMapMany(capacidades -> tecnologiaClient.getTecnologiasByCapacidadesIds(
+                                capacidades.stream().map(Capacidad::getId).toList())
+                        .flatMapMany(tecnologiasPorCapacidad -> Flux.fromIterable(capacidades)
+                                .map(capacidad -> {
+                                    CapacidadBootcampResponse response = new CapacidadBootcampResponse();
+                                    response.setId(capacidad.getId());
+                                    response.setNombre(capacidad.getNombre());
+                                    response.setTecnologias(tecnologiasPorCapacidad.getOrDefault(capacidad.getId(), List.of()));
+                                    return response;
+                                })));
     }
 
     @Override
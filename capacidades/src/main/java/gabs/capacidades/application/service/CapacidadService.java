@@ -1,8 +1,7 @@
 package gabs.capacidades.application.service;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import gabs.capacidades.application.port.CapacidadUseCases;
@@ -14,62 +13,59 @@ import gabs.capacidades.dto.CapacidadRequest;
 import gabs.capacidades.dto.CapacidadResponse;
 import gabs.capacidades.dto.CapacidadTecnologiasRequest;
 import gabs.capacidades.dto.PageAndQuery;
+import gabs.capacidades.dto.Tecnologias;
 import gabs.capacidades.infraestructure.adapter.in.TecnologiaClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class CapacidadService implements CapacidadUseCases {
 
     private final CapacidadRepositoryPort repository;
     private final TecnologiaClient tecnologiaClient;
 
+    // Capacidades por llamada a tecnologias, llamadas en vuelo por página y tiempo máximo de cada llamada
+    private final int enrichmentChunkSize;
+    private final int enrichmentConcurrency;
+    private final long enrichmentTimeoutMs;
+
+    public CapacidadService(CapacidadRepositoryPort repository,
+                            TecnologiaClient tecnologiaClient,
+                            @Value("${capacidades.enrichment.chunk-size:25}") int enrichmentChunkSize,
+                            @Value("${capacidades.enrichment.concurrency:4}") int enrichmentConcurrency,
+                            @Value("${capacidades.enrichment.timeout-ms:2000}") long enrichmentTimeoutMs) {
+        this.repository = repository;
+        this.tecnologiaClient = tecnologiaClient;
+        this.enrichmentChunkSize = enrichmentChunkSize;
+        this.enrichmentConcurrency = enrichmentConcurrency;
+        this.enrichmentTimeoutMs = enrichmentTimeoutMs;
+    }
+
     @Override
     public Flux<CapacidadResponse> findAll(PageAndQuery consult) {
         int offset = consult.getSize() * consult.getPage();
 
         Flux<Capacidad> capacidades;
-        if ("nombre".equalsIgnoreCase(consult.getSortBy())) {
-            capacidades = "desc".equalsIgnoreCase(consult.getDirection())
-                    ? repository.findPagedByNombreDesc(consult.getSize(), offset)
-                    : repository.findPagedByNombreAsc(consult.getSize(), offset);
-        } else {
-            // Si el sortBy es cantidad, primero traemos capacidades paginadas por nombre (puedes elegir), luego ordenamos en memoria
-            capacidades = repository.findPagedByNombreAsc(consult.getSize(), offset);
-        }
-
-        Flux<CapacidadOrderByTechsQuantityDto> responses = capacidades.concatMap(capacidad ->
-                tecnologiaClient.getTecnologiasByCapacidadId(capacidad.getId())
-                        .collectList()
-                        .map(tecnologias -> {
-                            CapacidadResponse r = new CapacidadResponse();
-                            r.setNombre(capacidad.getNombre());
-                            r.setDescripcion(capacidad.getDescripcion());
-                            r.setTecnologiasList(tecnologias);
-                            r.setId(capacidad.getId());
-                            return new CapacidadOrderByTechsQuantityDto(r, tecnologias.size());
-                        })
-        );
-
+        boolean desc = "desc".equalsIgnoreCase(consult.getDirection());
         if ("cantidad".equalsIgnoreCase(consult.getSortBy())) {
-            return responses
-                    .collectList()
-                    .flatMapMany(list -> {
-                        Comparator<CapacidadOrderByTechsQuantityDto> comparator = Comparator.comparingInt(CapacidadOrderByTechsQuantityDto::getCantidadTecnologias);
-                        if ("desc".equalsIgnoreCase(consult.getDirection())) comparator = comparator.reversed();
-                        list.sort(comparator);
-                        // Solo retorna el response, no el DTO auxiliar
-                        return Flux.fromIterable(list).map(CapacidadOrderByTechsQuantityDto::getResponse);
-                    });
+            // El orden por cantidad sale de la columna tech_count, paginado en la base de datos
+            capacidades = desc
+                    ? repository.findPagedByTechCountDesc(consult.getSize(), offset)
+                    : repository.findPagedByTechCountAsc(consult.getSize(), offset);
         } else {
-            return responses.map(CapacidadOrderByTechsQuantityDto::getResponse);
+            capacidades = desc && "nombre".equalsIgnoreCase(consult.getSortBy())
+                    ? repository.findPagedByNombreDesc(consult.getSize(), offset)
+                    : repository.findPagedByNombreAsc(consult.getSize(), offset);
         }
 
-
+        return capacidades.collectList()
+                .filter(page -> !page.isEmpty())
+                .flatMapMany(page -> enrich(page, consult.isPartialEnrichment()));
     }
 
     @Override
@@ -100,11 +96,18 @@ public class CapacidadService implements CapacidadUseCases {
                     Capacidad capacidad = new Capacidad();
                     capacidad.setNombre(request.getNombre());
                     capacidad.setDescripcion(request.getDescripcion());
+                    // La cantidad se fija recién cuando tecnologias confirmó los enlaces. Si el POST falla
+                    // (o enlazó solo una parte) tech_count queda desfasado: lo corrige CapacidadTechCountReconciler
+                    capacidad.setTechCount(0);
 
                     return repository.save(capacidad)
                             .flatMap(saved ->
                                     tecnologiaClient.postTecnologiasByCapacidadId(saved.getId(), new CapacidadTecnologiasRequest(validIds))
-                                            .then(Mono.just(saved))
+                                            .then(repository.updateTechCount(saved.getId(), 0, validIds.size()))
+                                            .then(Mono.fromSupplier(() -> {
+                                                saved.setTechCount(validIds.size());
+                                                return saved;
+                                            }))
                             );
                 });
     }
@@ -137,6 +140,51 @@ public class CapacidadService implements CapacidadUseCases {
     }
 
 
+    /**
+     * Consulta las tecnologías de la página por bloques, con a lo sumo enrichmentConcurrency llamadas en vuelo.
+     * flatMapSequential emite los bloques en el orden de la página aunque respondan desordenados.
+     * Con partial, un bloque que falla o vence su timeout sale con las capacidades marcadas como incompletas.
+     */
+    private Flux<CapacidadResponse> enrich(List<Capacidad> page, boolean partial) {
+        int chunkSize = Math.max(1, enrichmentChunkSize);
+        List<List<Capacidad>> chunks = new ArrayList<>();
+        for (int i = 0; i < page.size(); i += chunkSize) {
+            chunks.add(page.subList(i, Math.min(i + chunkSize, page.size())));
+        }
+
+        return Flux.fromIterable(chunks)
+                .flatMapSequential(chunk -> tecnologiaClient.getTecnologiasByCapacidadesIds(
+                                        chunk.stream().map(Capacidad::getId).toList())
+                                .timeout(Duration.ofMillis(enrichmentTimeoutMs))
+                                .map(tecnologiasPorCapacidad -> toResponses(chunk, tecnologiasPorCapacidad, false))
+                                .onErrorResume(error -> partial, error -> {
+                                    log.warn("No se pudieron obtener las tecnologías de {} capacidades: {}",
+                                            chunk.size(), error.toString());
+                                    return Mono.just(toResponses(chunk, Map.of(), true));
+                                }),
+                        enrichmentConcurrency)
+                .flatMapIterable(responses -> responses);
+    }
+
+    private List<CapacidadResponse> toResponses(List<Capacidad> chunk,
+                                                              Map<Long, List<Tecnologias>> tecnologiasPorCapacidad,
+                                                              boolean incompletas) {
+        return chunk.stream()
+                .map(capacidad -> {
+                    List<Tecnologias> tecnologias = tecnologiasPorCapacidad.getOrDefault(capacidad.getId(), List.of());
+                    CapacidadResponse r = new CapacidadResponse();
+                    r.setNombre(capacidad.getNombre());
+                    r.setDescripcion(capacidad.getDescripcion());
+                    r.setTecnologiasList(tecnologias);
+                    r.setId(capacidad.getId());
+                    if (incompletas) {
+                        r.setTecnologiasIncompletas(true);
+                    }
+                    return r;
+                })
+                .toList();
+    }
+
     private Mono<Void> validateTechQuantity(CapacidadRequest request) {
         if (request.getTecnologias() == null ||
                 request.getTecnologias().size() < 3 ||
@@ -157,16 +205,11 @@ public class CapacidadService implements CapacidadUseCases {
     private Mono<List<Long>> validateTechsExist(CapacidadRequest request) {
         List<Long> requestedIds = request.getTecnologias();
 
-        return Flux.fromIterable(requestedIds)
-                .flatMap(id ->
-                        tecnologiaClient.existsTechById(id)
-                                .map(exists -> new AbstractMap.SimpleEntry<>(id, exists))
-                )
-                .collectList()
+        // Una sola llamada a tecnologias para todos los ids
+        return tecnologiaClient.existsTechsByIds(requestedIds)
                 .flatMap(results -> {
-                    List<Long> invalidIds = results.stream()
-                            .filter(entry -> !entry.getValue())
-                            .map(Map.Entry::getKey)
+                    List<Long> invalidIds = requestedIds.stream()
+                            .filter(id -> !results.getOrDefault(id, false))
                             .toList();
 
                     if (!invalidIds.isEmpty()) {
@@ -174,20 +217,7 @@ public class CapacidadService implements CapacidadUseCases {
                         return Mono.error(new ValidationException(msg));
                     }
 
-                    // Solo devuelve los ids válidos (o todos, si todos existen)
-                    List<Long> validIds = results.stream()
-                            .filter(Map.Entry::getValue)
-                            .map(Map.Entry::getKey)
-                            .collect(Collectors.toList());
-
-                    return Mono.just(validIds);
+                    return Mono.just(requestedIds);
                 });
     }
-
-    @Data
-    @AllArgsConstructor
-    private class CapacidadOrderByTechsQuantityDto {
-        private CapacidadResponse response;
-        private int cantidadTecnologias;
-    }
 }
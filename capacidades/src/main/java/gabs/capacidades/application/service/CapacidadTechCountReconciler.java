@@ -0,0 +1,83 @@
+package gabs.capacidades.application.service;
+
+import gabs.capacidades.domain.model.Capacidad;
+import gabs.capacidades.domain.port.CapacidadRepositoryPort;
+import gabs.capacidades.infraestructure.adapter.in.TecnologiaClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Recalcula periódicamente tech_count con los enlaces que tiene tecnologias.
+ * La columna es una copia y puede desfasarse: un POST de enlaces que falló a medias en register,
+ * o tecnologías borradas desde tecnologias (DELETE /technology) que se llevan sus enlaces.
+ * También hace la carga inicial tras agregar la columna (db/01), sin consultas entre bases.
+ */
+@Component
+@Slf4j
+public class CapacidadTechCountReconciler {
+
+    private final CapacidadRepositoryPort repository;
+    private final TecnologiaClient tecnologiaClient;
+    private final int batchSize;
+
+    public CapacidadTechCountReconciler(CapacidadRepositoryPort repository,
+                                        TecnologiaClient tecnologiaClient,
+                                        @Value("${capacidades.tech-count.batch-size:100}") int batchSize) {
+        this.repository = repository;
+        this.tecnologiaClient = tecnologiaClient;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Recorre las capacidades por id en bloques de batchSize; devuelve cuántas corrigió
+     */
+    public Mono<Long> reconcile() {
+        return page(0L)
+                .expand(page -> page.size() < batchSize
+                        ? Mono.empty()
+                        : page(page.get(page.size() - 1).getId()))
+                .concatMap(this::reconcilePage)
+                .reduce(0L, Long::sum);
+    }
+
+    @Scheduled(initialDelayString = "${capacidades.tech-count.initial-delay-ms:30000}",
+            fixedDelayString = "${capacidades.tech-count.reconcile-ms:600000}")
+    public Mono<Void> scheduledReconcile() {
+        return reconcile()
+                .doOnNext(corregidas -> {
+                    if (corregidas > 0) {
+                        log.info("tech_count corregido en {} capacidades", corregidas);
+                    }
+                })
+                // Un fallo de tecnologias no debe cortar las próximas ejecuciones
+                .onErrorResume(e -> {
+                    log.warn("No se pudo reconciliar tech_count: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<List<Capacidad>> page(long afterId) {
+        return repository.findPageAfterId(afterId, batchSize)
+                .collectList()
+                .filter(page -> !page.isEmpty());
+    }
+
+    private Mono<Long> reconcilePage(List<Capacidad> page) {
+        return tecnologiaClient.countTecnologiasByCapacidadesIds(page.stream().map(Capacidad::getId).toList())
+                .flatMapMany(counts -> Flux.fromIterable(page)
+                        .filter(capacidad -> !Objects.equals(capacidad.getTechCount(), counts.get(capacidad.getId())))
+                        .concatMap(capacidad -> repository.updateTechCount(capacidad.getId(),
+                                capacidad.getTechCount() == null ? 0 : capacidad.getTechCount(),
+                                counts.get(capacidad.getId()))))
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+}
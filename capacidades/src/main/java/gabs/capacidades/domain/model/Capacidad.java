@@ -25,5 +25,11 @@ public class Capacidad {
     @Size(max = 90)
     private String descripcion;
 
+    /**
+     * Cantidad de tecnologías enlazadas (columna tech_count), copia de lo registrado en tecnologias
+     * para ordenar y paginar por cantidad sin consultarlo
+     */
+    private Integer techCount;
+
 
 }
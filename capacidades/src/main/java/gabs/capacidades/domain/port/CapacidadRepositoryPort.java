@@ -12,6 +12,17 @@ public interface CapacidadRepositoryPort {
 
     Flux<Capacidad> findPagedByNombreDesc(int size, int offset);
 
+    Flux<Capacidad> findPagedByTechCountAsc(int size, int offset);
+
+    Flux<Capacidad> findPagedByTechCountDesc(int size, int offset);
+
+    Flux<Capacidad> findPageAfterId(long afterId, int size);
+
+    /**
+     * Cambia tech_count solo si todavía vale expected; true si se actualizó
+     */
+    Mono<Boolean> updateTechCount(Long id, int expected, int techCount);
+
 
     Mono<Capacidad> findById(Long id);
     Mono<Capacidad> findByNombre(String nombre);
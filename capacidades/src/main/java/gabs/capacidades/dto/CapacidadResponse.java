@@ -1,5 +1,6 @@
 package gabs.capacidades.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -51,4 +52,8 @@ public class CapacidadResponse {
     
     @Schema(description = "Lista de tecnologías asociadas a la capacidad")
     private List<Tecnologias> tecnologiasList;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Presente y en true cuando no se pudieron obtener las tecnologías; la lista viene vacía", example = "true")
+    private Boolean tecnologiasIncompletas;
 }
@@ -15,9 +15,16 @@ public class PageAndQuery {
     @Schema(description = "Tamaño de la página", example = "10")
     public int size;
     
-    @Schema(description = "Campo por el cual ordenar", example = "nombre", allowableValues = {"nombre", "descripcion", "id"})
+    @Schema(description = "Campo por el cual ordenar; cantidad ordena por número de tecnologías", example = "nombre", allowableValues = {"nombre", "cantidad"})
     public String sortBy;
     
     @Schema(description = "Dirección del ordenamiento", example = "asc", allowableValues = {"asc", "desc"})
     public String direction;
+
+    @Schema(description = "Si tecnologias falla o no responde a tiempo, devolver las capacidades marcadas como incompletas en vez de fallar la página", example = "false")
+    public boolean partialEnrichment;
+
+    public PageAndQuery(int page, int size, String sortBy, String direction) {
+        this(page, size, sortBy, direction, false);
+    }
 }
@@ -3,9 +3,11 @@ package gabs.capacidades.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 @Schema(description = "DTO para representar una tecnología", example = """
         {
             "id": 1,
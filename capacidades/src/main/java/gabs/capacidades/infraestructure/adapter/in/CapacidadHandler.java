@@ -40,7 +40,9 @@ public class CapacidadHandler {
 
     @Operation(
         summary = "Obtener todas las capacidades",
-        description = "Retorna una lista paginada de todas las capacidades con sus tecnologías asociadas"
+        description = "Retorna una lista paginada de todas las capacidades con sus tecnologías asociadas. " +
+                "Con enrichment=partial, si tecnologias falla la página sale igual con las capacidades afectadas marcadas " +
+                "(tecnologiasIncompletas); por defecto (enrichment=fail) la página falla"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de capacidades obtenida exitosamente",
@@ -53,8 +55,10 @@ public class CapacidadHandler {
         int size = Integer.parseInt(request.queryParam("size").orElse("10"));
         String sortBy = request.queryParam("sortBy").orElse("nombre");
         String direction = request.queryParam("direction").orElse("asc");
+        // enrichment=partial devuelve la página aunque tecnologias falle, con las capacidades afectadas marcadas
+        boolean partialEnrichment = "partial".equalsIgnoreCase(request.queryParam("enrichment").orElse("fail"));
 
-        PageAndQuery consult = new PageAndQuery(page, size, sortBy, direction);
+        PageAndQuery consult = new PageAndQuery(page, size, sortBy, direction, partialEnrichment);
 
         System.out.println("SortBy: " + consult.getSortBy() + ", Direction: " + consult.getDirection());
         log.info("SortBy: {}, Direction: {}", consult.getSortBy(), consult.getDirection());
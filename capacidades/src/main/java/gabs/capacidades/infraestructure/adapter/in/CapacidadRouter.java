@@ -14,12 +14,14 @@ public class CapacidadRouter {
     private static final String BTCMP_PATH = PATH + "/bootcamp";
 
     @Bean
-    RouterFunction<ServerResponse> router(CapacidadHandler handler, CapacidadBootcampHandler handlerBtcamp) {
+    RouterFunction<ServerResponse> router(CapacidadHandler handler, CapacidadBootcampHandler handlerBtcamp,
+                                         TecnologiaClientStatsHandler handlerClientStats) {
         return RouterFunctions.route()
                 .GET(PATH, handler::getAll)
                 .GET(BTCMP_PATH + "/{id}", handlerBtcamp::getCapacidadesByBootcamp)
                 .POST(BTCMP_PATH + "/{id}", handlerBtcamp::saveCapacidadBootcamp)
                 .DELETE(BTCMP_PATH + "/{id}", handlerBtcamp::deleteCapacidadesByBootcampDeleted)
+                .GET(PATH + "/stats/tecnologias-client", handlerClientStats::stats)
                 .GET(PATH + "/{id}", handler::getById)
                 .GET(PATH + "/exists/{id}", handler::existsById)
                 .POST(PATH , handler::save)
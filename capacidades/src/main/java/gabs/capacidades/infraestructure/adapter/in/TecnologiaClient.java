@@ -1,16 +1,24 @@
 package gabs.capacidades.infraestructure.adapter.in;
 
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import gabs.capacidades.dto.CapacidadResponse;
 import gabs.capacidades.dto.CapacidadTecnologiasRequest;
 import gabs.capacidades.dto.Tecnologias;
+import gabs.capacidades.infraestructure.cache.SingleFlight;
+import gabs.capacidades.infraestructure.cache.TecnologiaClientCache;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -18,27 +26,148 @@ import java.util.stream.Collectors;
 public class TecnologiaClient {
 
     private final WebClient webClient;
-
-    public TecnologiaClient(WebClient.Builder builder) {
+    private final TecnologiaClientCache cache;
+    // Las consultas que fallan en cache y coinciden con otra en curso comparten su intercambio.
+    // La clave lleva la generación de la cache: quien llega después de una invalidación abre otro intercambio
+    private final SingleFlight<Flight<Long>, Boolean> existsFlights;
+    private final SingleFlight<Flight<List<Long>>, Map<Long, Boolean>> existsBatchFlights;
+    private final SingleFlight<Flight<Long>, List<Tecnologias>> tecnologiasFlights;
+    private final SingleFlight<Flight<List<Long>>, Map<Long, List<Tecnologias>>> tecnologiasBatchFlights;
+
+    public TecnologiaClient(WebClient.Builder builder, TecnologiaClientCache cache,
+                            @Value("${capacidades.tecnologias-client.max-in-flight:1000}") int maxInFlight) {
         this.webClient = builder.baseUrl("http://tecnologias-micro:8085/technology").build();
+        this.cache = cache;
+        this.existsFlights = new SingleFlight<>(maxInFlight);
+        this.existsBatchFlights = new SingleFlight<>(maxInFlight);
+        this.tecnologiasFlights = new SingleFlight<>(maxInFlight);
+        this.tecnologiasBatchFlights = new SingleFlight<>(maxInFlight);
     }
 
     public Mono<Boolean> existsTechById(Long id) {
-        return webClient.get()
-                .uri("/exists/{id}", id)
-                .retrieve()
-                .bodyToMono(Boolean.class)
-                .defaultIfEmpty(false);
+        return cache.exists(id)
+                .map(Mono::just)
+                .orElseGet(() -> {
+                    long generation = cache.existenciasGeneration();
+                    return existsFlights.execute(new Flight<>(id, generation), () -> webClient.get()
+                            .uri("/exists/{id}", id)
+                            .retrieve()
+                            .bodyToMono(Boolean.class)
+                            .defaultIfEmpty(false)
+                            .doOnNext(exists -> cache.putExists(id, exists, generation)));
+                });
 
     }
 
+    /**
+     * Solo se consultan los ids que no están en cache
+     */
+    public Mono<Map<Long, Boolean>> existsTechsByIds(List<Long> ids) {
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        ids.forEach(id -> cache.exists(id).ifPresentOrElse(exists -> result.put(id, exists), () -> faltantes.add(id)));
+        if (faltantes.isEmpty()) {
+            return Mono.just(result);
+        }
+
+        long generation = cache.existenciasGeneration();
+        return fetchExistsTechsByIds(faltantes)
+                .map(consultados -> {
+                    faltantes.forEach(id -> {
+                        boolean exists = consultados.getOrDefault(id, false);
+                        cache.putExists(id, exists, generation);
+                        result.put(id, exists);
+                    });
+                    return result;
+                });
+    }
 
+    private Mono<Map<Long, Boolean>> fetchExistsTechsByIds(List<Long> ids) {
+        String idsParam = ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        Flight<List<Long>> flight = new Flight<>(List.copyOf(ids), cache.existenciasGeneration());
+        return existsBatchFlights.execute(flight, () -> webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/exists")
+                        .queryParam("ids", idsParam)
+                        .build()
+                )
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<Long, Boolean>>() {})
+                .defaultIfEmpty(Map.of()));
+    }
 
+    /**
+     * Una capacidad sin tecnologías (404 en tecnologias) se trata como lista vacía y se guarda como entrada negativa
+     */
     public Flux<Tecnologias> getTecnologiasByCapacidadId(Long id) {
-        return webClient.get()
-                .uri("/capacidad/{id}", id)
+        Mono<List<Tecnologias>> tecnologias = cache.tecnologias(id)
+                .map(Mono::just)
+                .orElseGet(() -> {
+                    long generation = cache.capacidadGeneration(id);
+                    return tecnologiasFlights.execute(new Flight<>(id, generation), () -> webClient.get()
+                            .uri("/capacidad/{id}", id)
+                            .retrieve()
+                            .bodyToFlux(Tecnologias.class)
+                            .collectList()
+                            .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(List.of()))
+                            .doOnNext(lista -> cache.putTecnologias(id, lista, generation)));
+                });
+        return tecnologias.flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * Arma el mapa con las capacidades en cache y consulta solo las faltantes
+     */
+    public Mono<Map<Long, List<Tecnologias>>> getTecnologiasByCapacidadesIds(List<Long> ids) {
+        Map<Long, List<Tecnologias>> result = new LinkedHashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        ids.forEach(id -> cache.tecnologias(id).ifPresentOrElse(lista -> result.put(id, lista), () -> faltantes.add(id)));
+        if (faltantes.isEmpty()) {
+            return Mono.just(result);
+        }
+
+        Map<Long, Long> generations = new LinkedHashMap<>();
+        faltantes.forEach(id -> generations.put(id, cache.capacidadGeneration(id)));
+        return fetchTecnologiasByCapacidadesIds(faltantes)
+                .map(consultadas -> {
+                    faltantes.forEach(id -> {
+                        List<Tecnologias> lista = consultadas.getOrDefault(id, List.of());
+                        cache.putTecnologias(id, lista, generations.get(id));
+                        result.put(id, lista);
+                    });
+                    return result;
+                });
+    }
+
+    private Mono<Map<Long, List<Tecnologias>>> fetchTecnologiasByCapacidadesIds(List<Long> ids) {
+        String idsParam = ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        // Las generaciones solo suben, así que su suma cambia con cualquier invalidación de esos ids
+        long generation = ids.stream().mapToLong(cache::capacidadGeneration).sum();
+        return tecnologiasBatchFlights.execute(new Flight<>(List.copyOf(ids), generation), () -> webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/capacidad")
+                        .queryParam("ids", idsParam)
+                        .build()
+                )
                 .retrieve()
-                .bodyToFlux(Tecnologias.class);
+                .bodyToMono(new ParameterizedTypeReference<Map<Long, List<Tecnologias>>>() {})
+                .defaultIfEmpty(Map.of()));
+    }
+
+    /**
+     * Cantidad de tecnologías enlazadas a cada capacidad, siempre consultada a tecnologias (sin cache)
+     */
+    public Mono<Map<Long, Integer>> countTecnologiasByCapacidadesIds(List<Long> ids) {
+        return fetchTecnologiasByCapacidadesIds(ids)
+                .map(consultadas -> {
+                    Map<Long, Integer> counts = new LinkedHashMap<>();
+                    ids.forEach(id -> counts.put(id, consultadas.getOrDefault(id, List.of()).size()));
+                    return counts;
+                });
     }
 
     public Mono<Void> postTecnologiasByCapacidadId(Long id, CapacidadTecnologiasRequest techsList) {
@@ -46,7 +175,9 @@ public class TecnologiaClient {
                 .uri("/capacidad/{id}", id)
                 .bodyValue(techsList)
                 .retrieve()
-                .bodyToMono(Void.class);
+                .bodyToMono(Void.class)
+                // Aunque falle, el POST pudo haber cambiado los enlaces
+                .doFinally(signal -> cache.invalidateCapacidades(List.of(id)));
 
     }
 
@@ -62,9 +193,28 @@ public class TecnologiaClient {
                         .build()
                 )
                 .retrieve()
-                .bodyToMono(Void.class);
+                .bodyToMono(Void.class)
+                // Borrar los enlaces puede borrar también las tecnologías que quedaron sin capacidad
+                .doFinally(signal -> {
+                    cache.invalidateCapacidades(capacidadesIds);
+                    cache.invalidateExistencias();
+                });
 
     }
 
+    /**
+     * Estado de la cache y de las llamadas unidas (coalesced) por tipo de consulta
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "cache", cache.stats(),
+                "coalescing", Map.of(
+                        "existencia", existsFlights.stats(),
+                        "existencias", existsBatchFlights.stats(),
+                        "tecnologiasPorCapacidad", tecnologiasFlights.stats(),
+                        "tecnologiasPorCapacidades", tecnologiasBatchFlights.stats()));
+    }
 
+    private record Flight<K>(K key, long generation) {
+    }
 }
@@ -0,0 +1,24 @@
+package gabs.capacidades.infraestructure.adapter.in;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class TecnologiaClientStatsHandler {
+
+    private final TecnologiaClient tecnologiaClient;
+
+    /**
+     * Aciertos de la cache y llamadas a tecnologias unidas con otra en curso
+     */
+    public Mono<ServerResponse> stats(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(tecnologiaClient.stats());
+    }
+}
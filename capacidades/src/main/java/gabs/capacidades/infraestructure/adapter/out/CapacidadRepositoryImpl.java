@@ -29,6 +29,26 @@ public class CapacidadRepositoryImpl implements CapacidadRepositoryPort {
 
     }
 
+    @Override
+    public Flux<Capacidad> findPagedByTechCountAsc(int size, int offset) {
+        return repository.findPagedByTechCountAsc(size, offset);
+    }
+
+    @Override
+    public Flux<Capacidad> findPagedByTechCountDesc(int size, int offset) {
+        return repository.findPagedByTechCountDesc(size, offset);
+    }
+
+    @Override
+    public Flux<Capacidad> findPageAfterId(long afterId, int size) {
+        return repository.findPageAfterId(afterId, size);
+    }
+
+    @Override
+    public Mono<Boolean> updateTechCount(Long id, int expected, int techCount) {
+        return repository.updateTechCount(id, expected, techCount).map(rows -> rows > 0);
+    }
+
     @Override
     public Mono<Capacidad> findById(Long id) {
         return repository.findById(id);
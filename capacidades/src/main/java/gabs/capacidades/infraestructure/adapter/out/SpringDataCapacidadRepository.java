@@ -1,5 +1,6 @@
 package gabs.capacidades.infraestructure.adapter.out;
 
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
@@ -17,5 +18,20 @@ public interface SpringDataCapacidadRepository extends ReactiveCrudRepository<Ca
     @Query("SELECT * FROM capacidad ORDER BY nombre DESC LIMIT :size OFFSET :offset")
     Flux<Capacidad> findPagedByNombreDesc(@Param("size") int size, @Param("offset") int offset);
 
+    // El id desempata para que las páginas no repitan ni salteen filas; ix_capacidad_tech_count cubre el orden
+    @Query("SELECT * FROM capacidad ORDER BY tech_count ASC, id ASC LIMIT :size OFFSET :offset")
+    Flux<Capacidad> findPagedByTechCountAsc(@Param("size") int size, @Param("offset") int offset);
+
+    @Query("SELECT * FROM capacidad ORDER BY tech_count DESC, id DESC LIMIT :size OFFSET :offset")
+    Flux<Capacidad> findPagedByTechCountDesc(@Param("size") int size, @Param("offset") int offset);
+
+    @Query("SELECT * FROM capacidad WHERE id > :afterId ORDER BY id LIMIT :size")
+    Flux<Capacidad> findPageAfterId(@Param("afterId") long afterId, @Param("size") int size);
+
+    // Condicionado al valor leído: no pisa una cantidad que otra escritura cambió entretanto
+    @Modifying
+    @Query("UPDATE capacidad SET tech_count = :techCount WHERE id = :id AND tech_count = :expected")
+    Mono<Integer> updateTechCount(@Param("id") Long id, @Param("expected") int expected, @Param("techCount") int techCount);
+
 
 }
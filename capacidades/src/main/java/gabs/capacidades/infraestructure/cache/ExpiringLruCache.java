@@ -0,0 +1,91 @@
+package gabs.capacidades.infraestructure.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache local acotado: descarta la entrada usada hace más tiempo (LRU) al superar maxEntries
+ * y cada entrada vence según el TTL con que se guardó. Las operaciones son cortas y sincronizadas.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public ExpiringLruCache(int maxEntries) {
+        this(maxEntries, System::nanoTime);
+    }
+
+    ExpiringLruCache(int maxEntries, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringLruCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return Optional.empty();
+        }
+        if (entry.expiresAt() - nanoClock.getAsLong() <= 0) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(entry.value());
+    }
+
+    public synchronized void put(K key, V value, Duration ttl) {
+        if (maxEntries <= 0 || ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttl.toNanos()));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll(Collection<K> keys) {
+        keys.forEach(entries::remove);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        long lookups = hits + misses;
+        return new Stats(entries.size(), maxEntries, hits, misses, evictions, expirations,
+                lookups == 0 ? 0.0 : (double) hits / lookups);
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public record Stats(int size, int maxEntries, long hits, long misses, long evictions, long expirations,
+                        double hitRate) {
+    }
+}
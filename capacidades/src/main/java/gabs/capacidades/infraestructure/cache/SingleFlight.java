@@ -0,0 +1,64 @@
+package gabs.capacidades.infraestructure.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Une las llamadas idénticas que están en curso: los suscriptores que piden la misma clave mientras
+ * la primera llamada no terminó reciben su mismo resultado o error, sin abrir otro intercambio.
+ * La entrada se quita al terminar, así que no guarda resultados. Con el mapa lleno
+ * (maxInFlight claves distintas en curso) la llamada sale sola en vez de esperar.
+ */
+public class SingleFlight<K, V> {
+
+    private final int maxInFlight;
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    public SingleFlight(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            if (inFlight.size() >= maxInFlight) {
+                bypassed.increment();
+                return call.get();
+            }
+
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            // cache() comparte la única suscripción; se quita solo su propia entrada al terminar
+            Mono<V> shared = Mono.defer(call)
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(shared);
+
+            Mono<V> previous = inFlight.putIfAbsent(key, shared);
+            if (previous != null) {
+                coalesced.increment();
+                return previous;
+            }
+            executions.increment();
+            return shared;
+        });
+    }
+
+    public Stats stats() {
+        return new Stats(inFlight.size(), maxInFlight, executions.sum(), coalesced.sum(), bypassed.sum());
+    }
+
+    public record Stats(int inFlight, int maxInFlight, long executions, long coalesced, long bypassed) {
+    }
+}
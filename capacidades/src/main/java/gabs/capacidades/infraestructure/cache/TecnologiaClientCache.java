@@ -0,0 +1,117 @@
+package gabs.capacidades.infraestructure.cache;
+
+import gabs.capacidades.dto.Tecnologias;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Respuestas de tecnologias guardadas en capacidades: tecnologías por capacidad y existencia por tecnología.
+ * Los resultados negativos (capacidad sin tecnologías, tecnología inexistente) viven menos tiempo,
+ * así un alta hecha desde otro servicio se ve pronto.
+ * Cada invalidación sube una generación; una lectura que empezó antes de la invalidación trae datos
+ * viejos, así que su put se descarta si la generación que capturó antes de consultar ya cambió.
+ */
+@Component
+public class TecnologiaClientCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final ExpiringLruCache<Long, List<Tecnologias>> tecnologiasPorCapacidad;
+    private final ExpiringLruCache<Long, Boolean> existencias;
+    // Generación por capacidad repartida en franjas: memoria fija; un choque de franja solo descarta un put de más
+    private final AtomicLongArray capacidadGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    // invalidateExistencias limpia todo, así que basta una generación global
+    private final AtomicLong existenciasGeneration = new AtomicLong();
+
+    public TecnologiaClientCache(@Value("${capacidades.tecnologias-cache.ttl-ms:60000}") long ttlMs,
+                                 @Value("${capacidades.tecnologias-cache.negative-ttl-ms:5000}") long negativeTtlMs,
+                                 @Value("${capacidades.tecnologias-cache.max-entries:10000}") int maxEntries) {
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.negativeTtl = Duration.ofMillis(negativeTtlMs);
+        this.tecnologiasPorCapacidad = new ExpiringLruCache<>(maxEntries);
+        this.existencias = new ExpiringLruCache<>(maxEntries);
+    }
+
+    public Optional<List<Tecnologias>> tecnologias(Long capacidadId) {
+        return tecnologiasPorCapacidad.get(capacidadId);
+    }
+
+    /**
+     * Se captura antes de consultar a tecnologias y se pasa a {@link #putTecnologias}
+     */
+    public long capacidadGeneration(Long capacidadId) {
+        return capacidadGenerations.get(stripe(capacidadId));
+    }
+
+    /**
+     * No guarda nada si la capacidad se invalidó después de capturar la generación
+     */
+    public void putTecnologias(Long capacidadId, List<Tecnologias> tecnologias, long generation) {
+        if (capacidadGeneration(capacidadId) != generation) {
+            return;
+        }
+        tecnologiasPorCapacidad.put(capacidadId, List.copyOf(tecnologias), tecnologias.isEmpty() ? negativeTtl : ttl);
+        // Una invalidación entre la comprobación y el put pudo no ver la entrada
+        if (capacidadGeneration(capacidadId) != generation) {
+            tecnologiasPorCapacidad.invalidate(capacidadId);
+        }
+    }
+
+    public Optional<Boolean> exists(Long tecnologiaId) {
+        return existencias.get(tecnologiaId);
+    }
+
+    public long existenciasGeneration() {
+        return existenciasGeneration.get();
+    }
+
+    /**
+     * No guarda nada si las existencias se invalidaron después de capturar la generación
+     */
+    public void putExists(Long tecnologiaId, boolean exists, long generation) {
+        if (existenciasGeneration.get() != generation) {
+            return;
+        }
+        existencias.put(tecnologiaId, exists, exists ? ttl : negativeTtl);
+        if (existenciasGeneration.get() != generation) {
+            existencias.invalidate(tecnologiaId);
+        }
+    }
+
+    /**
+     * Tras cambiar los enlaces de esas capacidades
+     */
+    public void invalidateCapacidades(Collection<Long> capacidadesIds) {
+        // Primero la generación: un put que llegue después ya la ve cambiada
+        capacidadesIds.forEach(id -> capacidadGenerations.incrementAndGet(stripe(id)));
+        tecnologiasPorCapacidad.invalidateAll(capacidadesIds);
+    }
+
+    /**
+     * Tras un borrado que puede eliminar tecnologías en tecnologias
+     */
+    public void invalidateExistencias() {
+        existenciasGeneration.incrementAndGet();
+        existencias.clear();
+    }
+
+    private static int stripe(Long capacidadId) {
+        return Math.floorMod(Long.hashCode(capacidadId), GENERATION_STRIPES);
+    }
+
+    public Map<String, ExpiringLruCache.Stats> stats() {
+        return Map.of(
+                "tecnologiasPorCapacidad", tecnologiasPorCapacidad.stats(),
+                "existencias", existencias.stats());
+    }
+}
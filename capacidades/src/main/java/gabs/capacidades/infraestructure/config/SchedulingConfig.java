@@ -0,0 +1,12 @@
+package gabs.capacidades.infraestructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (reconciliación de tech_count)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
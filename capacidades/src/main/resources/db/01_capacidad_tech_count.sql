@@ -0,0 +1,7 @@
+-- Cantidad de tecnologías de cada capacidad, para GET /skill?sortBy=cantidad paginado en la base de datos.
+-- register la guarda al crear la capacidad; el índice (más el id implícito de InnoDB) cubre ORDER BY tech_count, id.
+ALTER TABLE capacidad ADD COLUMN tech_count INT NOT NULL DEFAULT 0;
+CREATE INDEX ix_capacidad_tech_count ON capacidad (tech_count);
+
+-- Sin carga inicial aquí: los enlaces viven en la base de tecnologias, que puede estar en otro servidor
+-- o tener otro nombre. CapacidadTechCountReconciler completa la columna al arrancar y la mantiene al día.
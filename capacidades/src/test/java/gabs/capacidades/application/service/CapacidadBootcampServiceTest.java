@@ -21,6 +21,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -65,8 +66,8 @@ class CapacidadBootcampServiceTest {
 
         when(repository.findByBootcampId(bootcampId)).thenReturn(Flux.just(capacidadBootcamp));
         when(capacidadRepository.findById(1L)).thenReturn(Mono.just(capacidad));
-        when(tecnologiaClient.getTecnologiasByCapacidadId(1L))
-                .thenReturn(Flux.just(tecnologia));
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(List.of(1L)))
+                .thenReturn(Mono.just(Map.of(1L, List.of(tecnologia))));
 
         // When & Then
         StepVerifier.create(service.getAllByBootcamp(bootcampId))
@@ -136,8 +137,8 @@ class CapacidadBootcampServiceTest {
                 .thenReturn(Flux.just(capacidadBootcamp1, capacidadBootcamp2));
         when(capacidadRepository.findById(1L)).thenReturn(Mono.just(capacidad1));
         when(capacidadRepository.findById(2L)).thenReturn(Mono.just(capacidad2));
-        when(tecnologiaClient.getTecnologiasByCapacidadId(anyLong()))
-                .thenReturn(Flux.just(tecnologia));
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(List.of(1L, 2L)))
+                .thenReturn(Mono.just(Map.of(1L, List.of(tecnologia), 2L, List.of(tecnologia))));
 
         // When & Then
         StepVerifier.create(service.getAllByBootcamp(bootcampId))
@@ -20,11 +20,18 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +47,7 @@ class CapacidadServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new CapacidadService(repository, tecnologiaClient);
+        service = new CapacidadService(repository, tecnologiaClient, 25, 4, 2000);
     }
 
     // ========== TESTS PARA findById ==========
@@ -115,10 +122,12 @@ class CapacidadServiceTest {
         savedCapacidad.setId(1L);
         savedCapacidad.setNombre("Test");
 
-        when(tecnologiaClient.existsTechById(anyLong())).thenReturn(Mono.just(true));
+        when(tecnologiaClient.existsTechsByIds(List.of(1L, 2L, 3L)))
+                .thenReturn(Mono.just(Map.of(1L, true, 2L, true, 3L, true)));
         when(repository.save(any(Capacidad.class))).thenReturn(Mono.just(savedCapacidad));
         when(tecnologiaClient.postTecnologiasByCapacidadId(anyLong(), any()))
                 .thenReturn(Mono.empty());
+        when(repository.updateTechCount(1L, 0, 3)).thenReturn(Mono.just(true));
 
         // When & Then
         StepVerifier.create(service.register(request))
@@ -128,6 +137,57 @@ class CapacidadServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void register_ShouldStoreTechCountOnlyAfterLinksArePosted() {
+        // Given
+        CapacidadRequest request = new CapacidadRequest();
+        request.setNombre("Test");
+        request.setDescripcion("Test Description");
+        request.setTecnologias(List.of(1L, 2L, 3L));
+
+        when(tecnologiaClient.existsTechsByIds(List.of(1L, 2L, 3L)))
+                .thenReturn(Mono.just(Map.of(1L, true, 2L, true, 3L, true)));
+        when(repository.save(argThat(capacidad -> Integer.valueOf(0).equals(capacidad.getTechCount()))))
+                .thenAnswer(invocation -> {
+                    Capacidad saved = invocation.getArgument(0);
+                    saved.setId(1L);
+                    return Mono.just(saved);
+                });
+        when(tecnologiaClient.postTecnologiasByCapacidadId(anyLong(), any()))
+                .thenReturn(Mono.empty());
+        when(repository.updateTechCount(1L, 0, 3)).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(service.register(request))
+                .expectNextMatches(capacidad -> capacidad.getTechCount() == 3)
+                .verifyComplete();
+    }
+
+    @Test
+    void register_WhenPostingLinksFails_ShouldNotStoreTechCount() {
+        // Given
+        CapacidadRequest request = new CapacidadRequest();
+        request.setNombre("Test");
+        request.setDescripcion("Test Description");
+        request.setTecnologias(List.of(1L, 2L, 3L));
+
+        Capacidad savedCapacidad = new Capacidad();
+        savedCapacidad.setId(1L);
+        savedCapacidad.setTechCount(0);
+
+        when(tecnologiaClient.existsTechsByIds(List.of(1L, 2L, 3L)))
+                .thenReturn(Mono.just(Map.of(1L, true, 2L, true, 3L, true)));
+        when(repository.save(any(Capacidad.class))).thenReturn(Mono.just(savedCapacidad));
+        when(tecnologiaClient.postTecnologiasByCapacidadId(anyLong(), any()))
+                .thenReturn(Mono.error(new RuntimeException("tecnologias no disponible")));
+
+        // When & Then
+        StepVerifier.create(service.register(request))
+                .expectErrorMessage("tecnologias no disponible")
+                .verify();
+        verify(repository, never()).updateTechCount(anyLong(), anyInt(), anyInt());
+    }
+
     @Test
     void register_WhenInvalidTechQuantity_ShouldThrowValidationException() {
         // Given
@@ -175,9 +235,8 @@ class CapacidadServiceTest {
         request.setNombre("Test");
         request.setTecnologias(List.of(1L, 2L, 999L)); // Tecnología 999 no existe
 
-        when(tecnologiaClient.existsTechById(1L)).thenReturn(Mono.just(true));
-        when(tecnologiaClient.existsTechById(2L)).thenReturn(Mono.just(true));
-        when(tecnologiaClient.existsTechById(999L)).thenReturn(Mono.just(false));
+        when(tecnologiaClient.existsTechsByIds(List.of(1L, 2L, 999L)))
+                .thenReturn(Mono.just(Map.of(1L, true, 2L, true, 999L, false)));
 
         // When & Then
         StepVerifier.create(service.register(request))
@@ -350,8 +409,8 @@ class CapacidadServiceTest {
         Tecnologias tecnologia = new Tecnologias(1L, "Java");
 
         when(repository.findPagedByNombreAsc(10, 0)).thenReturn(Flux.just(capacidad1, capacidad2));
-        when(tecnologiaClient.getTecnologiasByCapacidadId(anyLong()))
-                .thenReturn(Flux.just(tecnologia));
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(anyList()))
+                .thenReturn(Mono.just(Map.of(1L, List.of(tecnologia), 2L, List.of(tecnologia))));
 
         // When & Then
         StepVerifier.create(service.findAll(consult))
@@ -375,12 +434,118 @@ class CapacidadServiceTest {
         Tecnologias tecnologia = new Tecnologias(1L, "Java");
 
         when(repository.findPagedByNombreDesc(10, 0)).thenReturn(Flux.just(capacidad2, capacidad1));
-        when(tecnologiaClient.getTecnologiasByCapacidadId(anyLong()))
-                .thenReturn(Flux.just(tecnologia));
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(anyList()))
+                .thenReturn(Mono.just(Map.of(1L, List.of(tecnologia), 2L, List.of(tecnologia))));
 
         // When & Then
         StepVerifier.create(service.findAll(consult))
                 .expectNextCount(2)
                 .verifyComplete();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void findAll_ShouldEnrichWholePageWithSingleCall() {
+        // Given
+        PageAndQuery consult = new PageAndQuery(0, 10, "nombre", "asc");
+
+        Capacidad capacidad1 = new Capacidad();
+        capacidad1.setId(1L);
+        capacidad1.setNombre("A Capacidad");
+
+        Capacidad capacidad2 = new Capacidad();
+        capacidad2.setId(2L);
+        capacidad2.setNombre("B Capacidad");
+
+        when(repository.findPagedByNombreAsc(10, 0)).thenReturn(Flux.just(capacidad1, capacidad2));
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(List.of(1L, 2L)))
+                .thenReturn(Mono.just(Map.of(1L, List.of(new Tecnologias(1L, "Java"), new Tecnologias(2L, "Spring")))));
+
+        // When & Then
+        StepVerifier.create(service.findAll(consult))
+                .expectNextMatches(response -> response.getId().equals(1L) && response.getTecnologiasList().size() == 2)
+                .expectNextMatches(response -> response.getId().equals(2L) && response.getTecnologiasList().isEmpty())
+                .verifyComplete();
+
+        verify(tecnologiaClient, times(1)).getTecnologiasByCapacidadesIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void findAll_WhenSortByCantidad_ShouldPageByTechCountInDatabase() {
+        // Given
+        PageAndQuery consult = new PageAndQuery(1, 2, "cantidad", "desc");
+
+        when(repository.findPagedByTechCountDesc(2, 2)).thenReturn(Flux.just(capacidad(3L), capacidad(1L)));
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(List.of(3L, 1L)))
+                .thenReturn(Mono.just(Map.of(3L, List.of(new Tecnologias(1L, "Java")))));
+
+        // When & Then: se respeta el orden de la base de datos, sin reordenar en memoria
+        StepVerifier.create(service.findAll(consult))
+                .expectNextMatches(response -> response.getId().equals(3L))
+                .expectNextMatches(response -> response.getId().equals(1L))
+                .verifyComplete();
+
+        verify(repository, never()).findPagedByNombreAsc(anyInt(), anyInt());
+    }
+
+    @Test
+    void findAll_WithSmallChunks_ShouldCallConcurrentlyAndKeepPageOrder() {
+        // Given
+        service = new CapacidadService(repository, tecnologiaClient, 1, 4, 2000);
+        PageAndQuery consult = new PageAndQuery(0, 10, "nombre", "asc");
+
+        when(repository.findPagedByNombreAsc(10, 0)).thenReturn(Flux.just(capacidad(1L), capacidad(2L), capacidad(3L)));
+        // La primera capacidad es la que más tarda en responder
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(List.of(1L)))
+                .thenReturn(Mono.just(Map.of(1L, List.of(new Tecnologias(1L, "Java")))).delayElement(Duration.ofMillis(150)));
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(List.of(2L)))
+                .thenReturn(Mono.just(Map.<Long, List<Tecnologias>>of()).delayElement(Duration.ofMillis(10)));
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(List.of(3L)))
+                .thenReturn(Mono.just(Map.<Long, List<Tecnologias>>of()));
+
+        // When & Then
+        StepVerifier.create(service.findAll(consult))
+                .expectNextMatches(response -> response.getId().equals(1L) && response.getTecnologiasList().size() == 1)
+                .expectNextMatches(response -> response.getId().equals(2L))
+                .expectNextMatches(response -> response.getId().equals(3L))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_WhenEnrichmentTimesOutAndPartialIsAllowed_ShouldMarkRowsAsIncomplete() {
+        // Given
+        service = new CapacidadService(repository, tecnologiaClient, 25, 4, 50);
+        PageAndQuery consult = new PageAndQuery(0, 10, "nombre", "asc", true);
+
+        when(repository.findPagedByNombreAsc(10, 0)).thenReturn(Flux.just(capacidad(1L)));
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(List.of(1L))).thenReturn(Mono.never());
+
+        // When & Then
+        StepVerifier.create(service.findAll(consult))
+                .expectNextMatches(response -> response.getId().equals(1L)
+                        && response.getTecnologiasList().isEmpty()
+                        && Boolean.TRUE.equals(response.getTecnologiasIncompletas()))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_WhenEnrichmentFailsByDefault_ShouldFailThePage() {
+        // Given
+        PageAndQuery consult = new PageAndQuery(0, 10, "nombre", "asc");
+
+        when(repository.findPagedByNombreAsc(10, 0)).thenReturn(Flux.just(capacidad(1L)));
+        when(tecnologiaClient.getTecnologiasByCapacidadesIds(List.of(1L)))
+                .thenReturn(Mono.error(new IllegalStateException("tecnologias no disponible")));
+
+        // When & Then
+        StepVerifier.create(service.findAll(consult))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    private Capacidad capacidad(Long id) {
+        Capacidad capacidad = new Capacidad();
+        capacidad.setId(id);
+        capacidad.setNombre("Capacidad " + id);
+        return capacidad;
+    }
+}
@@ -0,0 +1,78 @@
+package gabs.capacidades.application.service;
+
+import gabs.capacidades.domain.model.Capacidad;
+import gabs.capacidades.domain.port.CapacidadRepositoryPort;
+import gabs.capacidades.infraestructure.adapter.in.TecnologiaClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CapacidadTechCountReconcilerTest {
+
+    @Mock
+    private CapacidadRepositoryPort repository;
+
+    @Mock
+    private TecnologiaClient tecnologiaClient;
+
+    private CapacidadTechCountReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new CapacidadTechCountReconciler(repository, tecnologiaClient, 2);
+    }
+
+    @Test
+    void reconcile_ShouldWalkAllPagesAndFixOnlyDriftedCounts() {
+        // Given
+        when(repository.findPageAfterId(0L, 2)).thenReturn(Flux.just(capacidad(1L, 3), capacidad(2L, 2)));
+        when(repository.findPageAfterId(2L, 2)).thenReturn(Flux.just(capacidad(5L, 0)));
+        when(tecnologiaClient.countTecnologiasByCapacidadesIds(List.of(1L, 2L)))
+                .thenReturn(Mono.just(Map.of(1L, 3, 2L, 1)));
+        when(tecnologiaClient.countTecnologiasByCapacidadesIds(List.of(5L)))
+                .thenReturn(Mono.just(Map.of(5L, 4)));
+        when(repository.updateTechCount(2L, 2, 1)).thenReturn(Mono.just(true));
+        when(repository.updateTechCount(5L, 0, 4)).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(reconciler.reconcile())
+                .expectNext(2L)
+                .verifyComplete();
+        verify(repository, never()).updateTechCount(1L, 3, 3);
+    }
+
+    @Test
+    void scheduledReconcile_WhenTecnologiasFails_ShouldCompleteWithoutUpdating() {
+        // Given
+        when(repository.findPageAfterId(0L, 2)).thenReturn(Flux.just(capacidad(1L, 3)));
+        when(tecnologiaClient.countTecnologiasByCapacidadesIds(List.of(1L)))
+                .thenReturn(Mono.error(new RuntimeException("tecnologias no disponible")));
+
+        // When & Then
+        StepVerifier.create(reconciler.scheduledReconcile())
+                .verifyComplete();
+        verify(repository, never()).updateTechCount(anyLong(), anyInt(), anyInt());
+    }
+
+    private static Capacidad capacidad(Long id, int techCount) {
+        Capacidad capacidad = new Capacidad();
+        capacidad.setId(id);
+        capacidad.setTechCount(techCount);
+        return capacidad;
+    }
+}
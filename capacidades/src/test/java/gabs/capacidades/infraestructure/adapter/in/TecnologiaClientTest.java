@@ -0,0 +1,211 @@
+package gabs.capacidades.infraestructure.adapter.in;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import gabs.capacidades.dto.CapacidadTecnologiasRequest;
+import gabs.capacidades.dto.Tecnologias;
+import gabs.capacidades.infraestructure.cache.SingleFlight;
+import gabs.capacidades.infraestructure.cache.TecnologiaClientCache;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.function.Tuple2;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TecnologiaClientTest {
+
+    private final List<String> requests = new ArrayList<>();
+
+    private TecnologiaClient client(Function<String, ClientResponse> responder) {
+        return deferredClient(uri -> Mono.just(responder.apply(uri)));
+    }
+
+    private TecnologiaClient deferredClient(Function<String, Mono<ClientResponse>> responder) {
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String uri = request.method() + " " + request.url().getPath() + (request.url().getQuery() == null ? "" : "?" + request.url().getQuery());
+                    requests.add(uri);
+                    return responder.apply(uri);
+                });
+        return new TecnologiaClient(builder, new TecnologiaClientCache(60_000, 5_000, 100), 100);
+    }
+
+    private static ClientResponse json(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    @Test
+    void getTecnologiasByCapacidadId_ShouldServeRepeatedCallsFromCache() {
+        TecnologiaClient client = client(uri -> json("[{\"id\":1,\"nombre\":\"Java\"}]"));
+
+        StepVerifier.create(client.getTecnologiasByCapacidadId(1L).collectList())
+                .expectNextMatches(list -> list.size() == 1)
+                .verifyComplete();
+        StepVerifier.create(client.getTecnologiasByCapacidadId(1L).collectList())
+                .expectNextMatches(list -> list.get(0).getNombre().equals("Java"))
+                .verifyComplete();
+
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void getTecnologiasByCapacidadId_WhenNotFound_ShouldCacheEmptyList() {
+        TecnologiaClient client = client(uri -> ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        StepVerifier.create(client.getTecnologiasByCapacidadId(9L)).verifyComplete();
+        StepVerifier.create(client.getTecnologiasByCapacidadId(9L)).verifyComplete();
+
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void getTecnologiasByCapacidadesIds_ShouldOnlyFetchMissingIds() {
+        TecnologiaClient client = client(uri -> uri.startsWith("GET /technology/capacidad/")
+                ? json("[{\"id\":1,\"nombre\":\"Java\"}]")
+                : json("{\"2\":[{\"id\":2,\"nombre\":\"Spring\"}]}"));
+        client.getTecnologiasByCapacidadId(1L).blockLast();
+
+        StepVerifier.create(client.getTecnologiasByCapacidadesIds(List.of(1L, 2L)))
+                .expectNextMatches(result -> result.get(1L).size() == 1 && result.get(2L).get(0).getNombre().equals("Spring"))
+                .verifyComplete();
+
+        assertEquals("GET /technology/capacidad?ids=2", requests.get(1));
+    }
+
+    @Test
+    void postTecnologiasByCapacidadId_ShouldInvalidateCapacidad() {
+        TecnologiaClient client = client(uri -> uri.startsWith("POST")
+                ? ClientResponse.create(HttpStatus.OK).build()
+                : json("[{\"id\":1,\"nombre\":\"Java\"}]"));
+        client.getTecnologiasByCapacidadId(1L).blockLast();
+
+        client.postTecnologiasByCapacidadId(1L, new CapacidadTecnologiasRequest(List.of(1L))).block();
+        client.getTecnologiasByCapacidadId(1L).blockLast();
+
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    void getTecnologiasByCapacidadId_WhenPostFinishesDuringRead_ShouldNotCacheStaleList() {
+        Sinks.One<ClientResponse> lectura = Sinks.one();
+        TecnologiaClient client = deferredClient(uri -> {
+            if (uri.startsWith("POST")) {
+                return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+            }
+            return requests.size() == 1
+                    ? lectura.asMono()
+                    : Mono.just(json("[{\"id\":1,\"nombre\":\"Java\"},{\"id\":2,\"nombre\":\"Spring\"}]"));
+        });
+
+        StepVerifier.create(client.getTecnologiasByCapacidadId(1L).collectList())
+                .then(() -> {
+                    client.postTecnologiasByCapacidadId(1L, new CapacidadTecnologiasRequest(List.of(1L, 2L))).block();
+                    lectura.tryEmitValue(json("[{\"id\":1,\"nombre\":\"Java\"}]"));
+                })
+                .expectNextMatches(list -> list.size() == 1)
+                .verifyComplete();
+        StepVerifier.create(client.getTecnologiasByCapacidadId(1L).collectList())
+                .expectNextMatches(list -> list.size() == 2)
+                .verifyComplete();
+
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    void existsTechsByIds_ShouldCacheEachIdIncludingMisses() {
+        TecnologiaClient client = client(uri -> json("{\"1\":true,\"2\":false}"));
+
+        StepVerifier.create(client.existsTechsByIds(List.of(1L, 2L)))
+                .expectNext(Map.of(1L, true, 2L, false))
+                .verifyComplete();
+        StepVerifier.create(client.existsTechById(2L))
+                .expectNext(false)
+                .verifyComplete();
+
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void getTecnologiasByCapacidadId_WhenCallsOverlap_ShouldShareOneExchange() {
+        Sinks.One<ClientResponse> respuesta = Sinks.one();
+        TecnologiaClient client = deferredClient(uri -> respuesta.asMono());
+
+        Mono<List<Tecnologias>> primera = client.getTecnologiasByCapacidadId(1L).collectList();
+        Mono<List<Tecnologias>> segunda = client.getTecnologiasByCapacidadId(1L).collectList();
+        Mono<Tuple2<List<Tecnologias>, List<Tecnologias>>> ambas = Mono.zip(primera, segunda);
+
+        StepVerifier.create(ambas)
+                .then(() -> respuesta.tryEmitValue(json("[{\"id\":1,\"nombre\":\"Java\"}]")))
+                .expectNextMatches(t -> t.getT1().size() == 1 && t.getT2().size() == 1)
+                .verifyComplete();
+
+        assertEquals(1, requests.size());
+        assertEquals(1L, coalescing(client, "tecnologiasPorCapacidad").coalesced());
+    }
+
+    @Test
+    void getTecnologiasByCapacidadId_WhenCalledAfterInvalidation_ShouldNotJoinTheOldExchange() {
+        Sinks.One<ClientResponse> vieja = Sinks.one();
+        TecnologiaClient client = deferredClient(uri -> {
+            if (uri.startsWith("POST")) {
+                return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+            }
+            return requests.size() == 1
+                    ? vieja.asMono()
+                    : Mono.just(json("[{\"id\":1,\"nombre\":\"Java\"},{\"id\":2,\"nombre\":\"Spring\"}]"));
+        });
+
+        StepVerifier.create(client.getTecnologiasByCapacidadId(1L).collectList())
+                .then(() -> {
+                    client.postTecnologiasByCapacidadId(1L, new CapacidadTecnologiasRequest(List.of(1L, 2L))).block();
+                    StepVerifier.create(client.getTecnologiasByCapacidadId(1L).collectList())
+                            .expectNextMatches(list -> list.size() == 2)
+                            .verifyComplete();
+                    vieja.tryEmitValue(json("[{\"id\":1,\"nombre\":\"Java\"}]"));
+                })
+                .expectNextMatches(list -> list.size() == 1)
+                .verifyComplete();
+
+        assertEquals(3, requests.size());
+        assertEquals(0L, coalescing(client, "tecnologiasPorCapacidad").coalesced());
+    }
+
+    @Test
+    void existsTechById_WhenSharedCallFails_ShouldDeliverErrorToAllAndRetryLater() {
+        Sinks.One<ClientResponse> respuesta = Sinks.one();
+        TecnologiaClient client = deferredClient(uri -> requests.size() == 1
+                ? respuesta.asMono()
+                : Mono.just(json("true")));
+
+        StepVerifier.create(Mono.zip(client.existsTechById(3L), client.existsTechById(3L)))
+                .then(() -> respuesta.tryEmitValue(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()))
+                .expectError(WebClientResponseException.ServiceUnavailable.class)
+                .verify();
+        StepVerifier.create(client.existsTechById(3L))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertEquals(2, requests.size());
+        assertEquals(0, coalescing(client, "existencia").inFlight());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SingleFlight.Stats coalescing(TecnologiaClient client, String tipo) {
+        return ((Map<String, SingleFlight.Stats>) client.stats().get("coalescing")).get(tipo);
+    }
+}
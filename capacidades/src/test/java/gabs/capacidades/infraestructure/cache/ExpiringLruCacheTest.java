@@ -0,0 +1,56 @@
+package gabs.capacidades.infraestructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringLruCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void get_AfterTtl_ShouldMissAndDropEntry() {
+        ExpiringLruCache<Long, String> cache = new ExpiringLruCache<>(10, now::get);
+        cache.put(1L, "java", Duration.ofSeconds(1));
+
+        assertEquals(Optional.of("java"), cache.get(1L));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertTrue(cache.get(1L).isEmpty());
+        assertEquals(1, cache.stats().expirations());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void put_OverMaxEntries_ShouldEvictLeastRecentlyUsed() {
+        ExpiringLruCache<Long, String> cache = new ExpiringLruCache<>(2, now::get);
+        cache.put(1L, "java", Duration.ofMinutes(1));
+        cache.put(2L, "spring", Duration.ofMinutes(1));
+        cache.get(1L);
+
+        cache.put(3L, "mysql", Duration.ofMinutes(1));
+
+        assertTrue(cache.get(2L).isEmpty());
+        assertEquals(Optional.of("java"), cache.get(1L));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void invalidateAll_ShouldDropOnlyGivenKeys() {
+        ExpiringLruCache<Long, String> cache = new ExpiringLruCache<>(10, now::get);
+        cache.put(1L, "java", Duration.ofMinutes(1));
+        cache.put(2L, "spring", Duration.ofMinutes(1));
+
+        cache.invalidateAll(List.of(1L));
+
+        assertTrue(cache.get(1L).isEmpty());
+        assertEquals(Optional.of("spring"), cache.get(2L));
+    }
+}
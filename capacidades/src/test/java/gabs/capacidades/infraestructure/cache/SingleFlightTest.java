@@ -0,0 +1,50 @@
+package gabs.capacidades.infraestructure.cache;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SingleFlightTest {
+
+    private final AtomicInteger llamadas = new AtomicInteger();
+
+    @Test
+    void execute_WhenSameKeyInFlight_ShouldShareResultAndFreeKey() {
+        SingleFlight<Long, String> flights = new SingleFlight<>(10);
+        Sinks.One<String> respuesta = Sinks.one();
+
+        StepVerifier.create(Mono.zip(flights.execute(1L, () -> llamar(respuesta)), flights.execute(1L, () -> llamar(respuesta))))
+                .then(() -> respuesta.tryEmitValue("java"))
+                .expectNextMatches(t -> t.getT1().equals("java") && t.getT2().equals("java"))
+                .verifyComplete();
+
+        assertEquals(1, llamadas.get());
+        assertEquals(new SingleFlight.Stats(0, 10, 1, 1, 0), flights.stats());
+    }
+
+    @Test
+    void execute_WhenMapIsFull_ShouldCallWithoutCoalescing() {
+        SingleFlight<Long, String> flights = new SingleFlight<>(1);
+        Sinks.One<String> respuesta = Sinks.one();
+
+        StepVerifier.create(Mono.zip(
+                        flights.execute(1L, () -> llamar(respuesta)),
+                        flights.execute(2L, () -> llamar(respuesta))))
+                .then(() -> respuesta.tryEmitValue("java"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, llamadas.get());
+        assertEquals(1, flights.stats().bypassed());
+    }
+
+    private Mono<String> llamar(Sinks.One<String> respuesta) {
+        llamadas.incrementAndGet();
+        return respuesta.asMono();
+    }
+}
@@ -0,0 +1,50 @@
+package gabs.tecnologias.benchmark;
+
+import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.dto.CapacidadTecnologiaResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos sintéticos deterministas para los benchmarks
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Tecnologia> tecnologias(int count) {
+        List<Tecnologia> tecnologias = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Tecnologia tecnologia = new Tecnologia();
+            tecnologia.setId(id);
+            tecnologia.setNombre("Tecnologia " + id);
+            tecnologia.setDescripcion("Descripción de la tecnología " + id);
+            tecnologias.add(tecnologia);
+        }
+        return tecnologias;
+    }
+
+    /**
+     * Cada capacidad enlaza {@code perCapacidad} tecnologías consecutivas, repartidas sobre el catálogo
+     */
+    static List<CapacidadTecnologia> links(int capacidades, int perCapacidad, int tecnologias) {
+        List<CapacidadTecnologia> links = new ArrayList<>(capacidades * perCapacidad);
+        long id = 1;
+        for (long capacidadId = 1; capacidadId <= capacidades; capacidadId++) {
+            for (int i = 0; i < perCapacidad; i++) {
+                long tecnologiaId = (capacidadId * perCapacidad + i) % tecnologias + 1;
+                links.add(new CapacidadTecnologia(id++, tecnologiaId, capacidadId));
+            }
+        }
+        return links;
+    }
+
+    static List<CapacidadTecnologiaResponse> responses(List<Tecnologia> tecnologias) {
+        return tecnologias.stream()
+                .map(t -> new CapacidadTecnologiaResponse(t.getId(), t.getNombre()))
+                .toList();
+    }
+}
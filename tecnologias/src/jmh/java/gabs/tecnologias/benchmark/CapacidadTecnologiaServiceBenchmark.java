@@ -0,0 +1,82 @@
+package gabs.tecnologias.benchmark;
+
+import gabs.tecnologias.application.batch.CapacidadTecnologiaBatchWriter;
+import gabs.tecnologias.application.catalog.CapacidadTecnologiaIndex;
+import gabs.tecnologias.application.catalog.TecnologiaCatalog;
+import gabs.tecnologias.application.catalog.TecnologiaNombreIndex;
+import gabs.tecnologias.application.changes.TecnologiaChangeFeed;
+import gabs.tecnologias.application.service.CapacidadTecnologiaService;
+import gabs.tecnologias.application.stats.TecnologiaTopUsage;
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.dto.CapacidadTecnologiaResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de servicio de getTechnologiesListByCapacidad sin I/O: armado del Flux, mapeo y recolección,
+ * con y sin el índice en memoria
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CapacidadTecnologiaServiceBenchmark {
+
+    private static final int CAPACIDADES = 1_000;
+    private static final int TECNOLOGIAS = 5_000;
+
+    @Param({"5", "20", "100"})
+    public int tecnologiasPorCapacidad;
+
+    /**
+     * false resuelve con el JOIN del repositorio, true con el índice CSR y el catálogo en memoria
+     */
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private CapacidadTecnologiaService service;
+    private long capacidadId;
+
+    @Setup
+    public void setUp() {
+        List<Tecnologia> tecnologias = BenchmarkData.tecnologias(TECNOLOGIAS);
+        InMemoryTecnologiaRepository tecnologiaRepository = new InMemoryTecnologiaRepository(tecnologias);
+        InMemoryCapacidadTecnologiaRepository repository = new InMemoryCapacidadTecnologiaRepository(
+                BenchmarkData.links(CAPACIDADES, tecnologiasPorCapacidad, TECNOLOGIAS), tecnologias);
+
+        TecnologiaCatalog catalog = new TecnologiaCatalog(tecnologiaRepository, new TecnologiaNombreIndex());
+        CapacidadTecnologiaIndex index = new CapacidadTecnologiaIndex(repository);
+        if (indexed) {
+            catalog.refresh().block();
+            index.refresh().block();
+        }
+
+        service = new CapacidadTecnologiaService(
+                repository,
+                tecnologiaRepository,
+                catalog,
+                new TecnologiaChangeFeed(16),
+                new TecnologiaTopUsage(repository, 10),
+                index,
+                // Solo se mide la lectura: el writer queda desactivado y sin transacciones
+                new CapacidadTecnologiaBatchWriter(repository, null, false, 0, 1),
+                null);
+    }
+
+    @Benchmark
+    public List<CapacidadTecnologiaResponse> getTechnologiesListByCapacidad() {
+        // Se recorren las capacidades para no medir siempre la misma lista caliente
+        capacidadId = capacidadId % CAPACIDADES + 1;
+        return service.getTechnologiesListByCapacidad(capacidadId)
+                .collectList()
+                .block();
+    }
+}
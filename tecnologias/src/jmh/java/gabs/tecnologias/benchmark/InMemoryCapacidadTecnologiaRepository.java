@@ -0,0 +1,159 @@
+package gabs.tecnologias.benchmark;
+
+import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaCapacidad;
+import gabs.tecnologias.domain.model.TecnologiaUso;
+import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Puerto de enlaces en memoria: resuelve el JOIN con tecnologías y lleva el conteo de usos
+ * (tecnologia_uso) igual que las consultas reales. Cada capacidad guarda una lista inmutable
+ * que las escrituras reemplazan, así las lecturas medidas no pagan sincronización.
+ */
+class InMemoryCapacidadTecnologiaRepository implements CapacidadTecnologiaRepositoryPort {
+
+    private final Map<Long, List<CapacidadTecnologia>> byCapacidad = new ConcurrentHashMap<>();
+    private final Map<Long, Long> usos = new ConcurrentHashMap<>();
+    private final Map<Long, Tecnologia> tecnologias;
+    private final AtomicLong sequence = new AtomicLong();
+
+    InMemoryCapacidadTecnologiaRepository(List<CapacidadTecnologia> links, List<Tecnologia> tecnologias) {
+        this.tecnologias = tecnologias.stream()
+                .collect(Collectors.toMap(Tecnologia::getId, Function.identity()));
+        links.stream()
+                .collect(Collectors.groupingBy(CapacidadTecnologia::getCapacidadId))
+                .forEach((capacidadId, enlaces) -> byCapacidad.put(capacidadId, List.copyOf(enlaces)));
+        links.forEach(link -> usos.merge(link.getTecnologiaId(), 1L, Long::sum));
+        sequence.set(links.stream().map(CapacidadTecnologia::getId).filter(Objects::nonNull)
+                .mapToLong(Long::longValue).max().orElse(0));
+    }
+
+    @Override
+    public Flux<CapacidadTecnologia> findByCapacidadId(Long capacidadId) {
+        return Flux.defer(() -> Flux.fromIterable(byCapacidad.getOrDefault(capacidadId, List.of())));
+    }
+
+    @Override
+    public Flux<CapacidadTecnologia> findAllLinks() {
+        return Flux.defer(() -> Flux.fromStream(byCapacidad.values().stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(CapacidadTecnologia::getCapacidadId)
+                        .thenComparing(CapacidadTecnologia::getTecnologiaId))));
+    }
+
+    @Override
+    public Flux<TecnologiaCapacidad> findTecnologiasByCapacidadId(Long capacidadId) {
+        return findByCapacidadId(capacidadId).mapNotNull(this::join);
+    }
+
+    @Override
+    public Flux<TecnologiaCapacidad> findTecnologiasByCapacidadesIds(List<Long> capacidadesIds) {
+        return Flux.fromIterable(capacidadesIds).concatMap(this::findTecnologiasByCapacidadId);
+    }
+
+    @Override
+    public Mono<CapacidadTecnologia> save(CapacidadTecnologia capacidadTecnologia) {
+        return insertAll(List.of(capacidadTecnologia)).next();
+    }
+
+    @Override
+    public Flux<CapacidadTecnologia> insertAll(List<CapacidadTecnologia> capacidadesTecnologia) {
+        return Flux.defer(() -> {
+            for (CapacidadTecnologia link : capacidadesTecnologia) {
+                if (link.getId() == null) {
+                    link.setId(sequence.incrementAndGet());
+                }
+                byCapacidad.merge(link.getCapacidadId(), List.of(link), (actuales, nuevo) -> {
+                    List<CapacidadTecnologia> copia = new ArrayList<>(actuales);
+                    copia.addAll(nuevo);
+                    return List.copyOf(copia);
+                });
+            }
+            return Flux.fromIterable(capacidadesTecnologia);
+        });
+    }
+
+    /**
+     * Misma regla que la consulta: exclusiva si todos sus usos están entre las capacidades dadas
+     */
+    @Override
+    public Flux<Long> lockExistingTecnologias(List<Long> tecnologiaIds) {
+        return Flux.fromIterable(tecnologiaIds).filter(tecnologias::containsKey);
+    }
+
+    @Override
+    public Flux<Long> findExclusiveTechsByCapacidadesIds(List<Long> capacidadesId) {
+        return Flux.defer(() -> Flux.fromIterable(enlacesDe(capacidadesId).entrySet())
+                .filter(e -> e.getValue().equals(usos.get(e.getKey())))
+                .map(Map.Entry::getKey));
+    }
+
+    @Override
+    public Mono<Void> deleteByCapacidadesIds(List<Long> capacidadesIds) {
+        return Mono.fromRunnable(() -> capacidadesIds.forEach(byCapacidad::remove));
+    }
+
+    @Override
+    public Mono<Void> deleteByTecnologiasIds(List<Long> tecnologiaIds) {
+        Set<Long> ids = new HashSet<>(tecnologiaIds);
+        return Mono.fromRunnable(() -> byCapacidad.replaceAll((capacidadId, enlaces) -> enlaces.stream()
+                .filter(link -> !ids.contains(link.getTecnologiaId()))
+                .toList()));
+    }
+
+    @Override
+    public Mono<Void> incrementUsage(List<Long> tecnologiaIds) {
+        return Mono.fromRunnable(() -> tecnologiaIds.forEach(id -> usos.merge(id, 1L, Long::sum)));
+    }
+
+    @Override
+    public Mono<Void> decrementUsageByCapacidadesIds(List<Long> capacidadesIds) {
+        return Mono.fromRunnable(() -> enlacesDe(capacidadesIds)
+                .forEach((tecnologiaId, cantidad) -> usos.computeIfPresent(tecnologiaId, (id, actual) -> actual - cantidad)));
+    }
+
+    @Override
+    public Mono<Void> deleteUsage(List<Long> tecnologiaIds) {
+        return Mono.fromRunnable(() -> tecnologiaIds.forEach(usos::remove));
+    }
+
+    @Override
+    public Flux<TecnologiaUso> findTopUsed(int limit) {
+        return Flux.defer(() -> Flux.fromStream(usos.entrySet().stream()
+                .filter(e -> e.getValue() > 0 && tecnologias.containsKey(e.getKey()))
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(e -> new TecnologiaUso(e.getKey(), tecnologias.get(e.getKey()).getNombre(), e.getValue()))));
+    }
+
+    /**
+     * Enlaces por tecnología dentro de las capacidades dadas
+     */
+    private Map<Long, Long> enlacesDe(List<Long> capacidadesIds) {
+        return capacidadesIds.stream()
+                .flatMap(capacidadId -> byCapacidad.getOrDefault(capacidadId, List.of()).stream())
+                .collect(Collectors.groupingBy(CapacidadTecnologia::getTecnologiaId, Collectors.counting()));
+    }
+
+    private TecnologiaCapacidad join(CapacidadTecnologia link) {
+        Tecnologia tecnologia = tecnologias.get(link.getTecnologiaId());
+        return tecnologia == null ? null
+                : new TecnologiaCapacidad(link.getCapacidadId(), tecnologia.getId(), tecnologia.getNombre());
+    }
+}
@@ -0,0 +1,135 @@
+package gabs.tecnologias.benchmark;
+
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaCursor;
+import gabs.tecnologias.domain.port.TecnologiaRepositoryPort;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Puerto de tecnologías sobre un mapa, para medir sin base de datos.
+ * Imita la tabla: nombres únicos sin distinguir mayúsculas y páginas ordenadas por (nombre, id).
+ */
+class InMemoryTecnologiaRepository implements TecnologiaRepositoryPort {
+
+    private static final Comparator<Tecnologia> POR_NOMBRE_E_ID = Comparator
+            .comparing(Tecnologia::getNombre, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Tecnologia::getId);
+
+    private final Map<Long, Tecnologia> byId = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    InMemoryTecnologiaRepository(List<Tecnologia> tecnologias) {
+        tecnologias.forEach(t -> byId.put(t.getId(), t));
+        sequence.set(byId.keySet().stream().mapToLong(Long::longValue).max().orElse(0));
+    }
+
+    @Override
+    public Flux<Tecnologia> findAll() {
+        return Flux.defer(() -> Flux.fromIterable(byId.values()));
+    }
+
+    @Override
+    public Flux<Tecnologia> findPage(TecnologiaCursor after, int limit, boolean descending) {
+        Comparator<Tecnologia> orden = descending ? POR_NOMBRE_E_ID.reversed() : POR_NOMBRE_E_ID;
+        return Flux.defer(() -> {
+            Tecnologia cursor = new Tecnologia();
+            if (after != null) {
+                cursor.setNombre(after.nombre());
+                cursor.setId(after.id());
+            }
+            return Flux.fromStream(byId.values().stream()
+                    .filter(t -> after == null || orden.compare(t, cursor) > 0)
+                    .sorted(orden)
+                    .limit(limit));
+        });
+    }
+
+    @Override
+    public Mono<Tecnologia> findById(Long id) {
+        return Mono.fromSupplier(() -> byId.get(id));
+    }
+
+    @Override
+    public Mono<Tecnologia> findByNombre(String nombre) {
+        return findAll().filter(t -> t.getNombre().equalsIgnoreCase(nombre)).next();
+    }
+
+    @Override
+    public Mono<Boolean> existsByNombre(String nombre) {
+        return findByNombre(nombre).hasElement();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return Mono.fromSupplier(() -> byId.containsKey(id));
+    }
+
+    @Override
+    public Flux<Long> findExistingIds(List<Long> ids) {
+        return Flux.fromIterable(ids).filter(byId::containsKey);
+    }
+
+    @Override
+    public Flux<Tecnologia> findByNombres(List<String> nombres) {
+        return findAll().filter(t -> nombres.stream().anyMatch(nombre -> t.getNombre().trim().equalsIgnoreCase(nombre.trim())));
+    }
+
+    @Override
+    public Mono<Tecnologia> save(Tecnologia tecnologia) {
+        return Mono.fromSupplier(() -> {
+            synchronized (byId) {
+                boolean duplicado = byId.values().stream()
+                        .anyMatch(t -> !t.getId().equals(tecnologia.getId()) && t.getNombre().equalsIgnoreCase(tecnologia.getNombre()));
+                if (duplicado) {
+                    throw new DuplicateKeyException("Duplicate entry '" + tecnologia.getNombre() + "'");
+                }
+                if (tecnologia.getId() == null) {
+                    tecnologia.setId(sequence.incrementAndGet());
+                }
+                byId.put(tecnologia.getId(), tecnologia);
+                return tecnologia;
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> insertAll(List<Tecnologia> tecnologias) {
+        // Como el INSERT multi-fila: todo o nada
+        return Mono.fromRunnable(() -> {
+            synchronized (byId) {
+                Set<String> nombres = new HashSet<>();
+                byId.values().forEach(t -> nombres.add(t.getNombre().toLowerCase(Locale.ROOT)));
+                boolean duplicado = tecnologias.stream()
+                        .anyMatch(t -> !nombres.add(t.getNombre().toLowerCase(Locale.ROOT)));
+                if (duplicado) {
+                    throw new DuplicateKeyException("Duplicate entry in batch insert");
+                }
+                tecnologias.forEach(t -> {
+                    t.setId(sequence.incrementAndGet());
+                    byId.put(t.getId(), t);
+                });
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return Mono.fromRunnable(() -> byId.remove(id));
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<Long> ids) {
+        return Mono.fromRunnable(() -> ids.forEach(byId::remove));
+    }
+}
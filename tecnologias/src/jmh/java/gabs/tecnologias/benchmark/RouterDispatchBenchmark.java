@@ -0,0 +1,119 @@
+package gabs.tecnologias.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gabs.tecnologias.application.batch.CapacidadTecnologiaBatchWriter;
+import gabs.tecnologias.application.catalog.CapacidadTecnologiaIndex;
+import gabs.tecnologias.application.catalog.CapacidadVersions;
+import gabs.tecnologias.application.catalog.TecnologiaCatalog;
+import gabs.tecnologias.application.catalog.TecnologiaNombreIndex;
+import gabs.tecnologias.application.changes.TecnologiaChangeFeed;
+import gabs.tecnologias.application.service.CapacidadTecnologiaService;
+import gabs.tecnologias.application.service.TecnologiaService;
+import gabs.tecnologias.application.stats.TecnologiaTopUsage;
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.infraestructure.adapter.in.CapacidadTecnologiaHandler;
+import gabs.tecnologias.infraestructure.adapter.in.TecnologiaHandler;
+import gabs.tecnologias.infraestructure.adapter.in.TecnologiaRouter;
+import gabs.tecnologias.infraestructure.adapter.in.TecnologiaSnapshotEncoder;
+import gabs.tecnologias.infraestructure.cache.ResponseCaches;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino completo router → handler → servicio → JSON, sin red ni base de datos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RouterDispatchBenchmark {
+
+    private static final int CAPACIDADES = 1_000;
+    private static final int TECNOLOGIAS = 5_000;
+    private static final int POR_CAPACIDAD = 20;
+
+    // Los GET medidos no validan cuerpos
+    private static final Validator NO_OP_VALIDATOR = new Validator() {
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return false;
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+        }
+    };
+
+    /**
+     * 0 desactiva en la práctica el cache de bytes (cada entrada se descarta al entrar) para comparar con y sin él
+     */
+    @Param({"0", "10000"})
+    public int maxCacheEntries;
+
+    private WebTestClient client;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        List<Tecnologia> tecnologias = BenchmarkData.tecnologias(TECNOLOGIAS);
+        InMemoryTecnologiaRepository tecnologiaRepository = new InMemoryTecnologiaRepository(tecnologias);
+        InMemoryCapacidadTecnologiaRepository repository = new InMemoryCapacidadTecnologiaRepository(
+                BenchmarkData.links(CAPACIDADES, POR_CAPACIDAD, TECNOLOGIAS), tecnologias);
+
+        TecnologiaCatalog catalog = new TecnologiaCatalog(tecnologiaRepository, new TecnologiaNombreIndex());
+        catalog.refresh().block();
+        CapacidadTecnologiaIndex index = new CapacidadTecnologiaIndex(repository);
+        index.refresh().block();
+        // Los benchmarks no registran enlaces: el writer queda desactivado y sin transacciones
+        CapacidadTecnologiaBatchWriter batchWriter = new CapacidadTecnologiaBatchWriter(repository, null, false, 0, 1);
+        TecnologiaChangeFeed changes = new TecnologiaChangeFeed(16);
+        CapacidadVersions versions = new CapacidadVersions();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ResponseCaches responseCaches = new ResponseCaches(objectMapper, changes, maxCacheEntries);
+
+        TecnologiaHandler handler = new TecnologiaHandler(
+                new TecnologiaService(tecnologiaRepository, repository, catalog, versions, changes, index, null),
+                NO_OP_VALIDATOR, responseCaches);
+        CapacidadTecnologiaHandler handlerCap = new CapacidadTecnologiaHandler(
+                new CapacidadTecnologiaService(repository, tecnologiaRepository, catalog, changes,
+                        new TecnologiaTopUsage(repository, 10), index, batchWriter, null), NO_OP_VALIDATOR, versions,
+                new TecnologiaSnapshotEncoder(objectMapper), responseCaches, index, batchWriter);
+
+        RouterFunction<ServerResponse> router = new TecnologiaRouter().router(handler, handlerCap);
+        client = WebTestClient.bindToRouterFunction(router).build();
+    }
+
+    @Benchmark
+    public byte[] getTechnologyById() {
+        id = id % TECNOLOGIAS + 1;
+        return client.get().uri("/technology/{id}", id)
+                .exchange()
+                .expectBody()
+                .returnResult()
+                .getResponseBodyContent();
+    }
+
+    @Benchmark
+    public byte[] getTechsByCapacidadId() {
+        id = id % CAPACIDADES + 1;
+        return client.get().uri("/technology/capacidad/{id}", id)
+                .exchange()
+                .expectBody()
+                .returnResult()
+                .getResponseBodyContent();
+    }
+}
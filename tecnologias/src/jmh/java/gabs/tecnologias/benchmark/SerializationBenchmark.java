@@ -0,0 +1,51 @@
+package gabs.tecnologias.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.dto.CapacidadTecnologiaResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización Jackson de las listas que más devuelve el servicio, con la misma configuración base de Spring
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Tecnologia> tecnologias;
+    private List<CapacidadTecnologiaResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        tecnologias = BenchmarkData.tecnologias(size);
+        responses = BenchmarkData.responses(tecnologias);
+    }
+
+    @Benchmark
+    public byte[] tecnologias() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tecnologias);
+    }
+
+    @Benchmark
+    public byte[] capacidadTecnologiaResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,206 @@
+package gabs.tecnologias.application.batch;
+
+import gabs.tecnologias.domain.exception.TecnologiaNotFoundException;
+import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Agrupa los registros de enlaces de pedidos concurrentes y los escribe con un solo INSERT de varias filas.
+ * Un lote se cierra cuando pasa la ventana desde el primer pedido o cuando junta el máximo de filas;
+ * cada pedido recibe solo sus propias filas. Si el lote falla, cada pedido se reintenta por separado
+ * para que una fila inválida no haga fallar a los demás.
+ * La existencia de las tecnologías se vuelve a comprobar dentro de la transacción del INSERT, con las filas
+ * bloqueadas, así una tecnología borrada después de la validación del servicio no deja enlaces colgados.
+ */
+@Component
+public class CapacidadTecnologiaBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacidadTecnologiaBatchWriter.class);
+
+    private final CapacidadTecnologiaRepositoryPort repository;
+    private final TransactionalOperator transactionalOperator;
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxRows;
+
+    private final Object lock = new Object();
+    private List<PendingWrite> pending = new ArrayList<>();
+    private int pendingRows;
+    private Disposable scheduledFlush;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder retriedRequests = new LongAdder();
+    private final AtomicInteger largestBatchRows = new AtomicInteger();
+
+    public CapacidadTecnologiaBatchWriter(CapacidadTecnologiaRepositoryPort repository,
+                                          TransactionalOperator transactionalOperator,
+                                          @Value("${tecnologias.link-writer.enabled:true}") boolean enabled,
+                                          @Value("${tecnologias.link-writer.window-ms:2}") long windowMs,
+                                          @Value("${tecnologias.link-writer.max-rows:500}") int maxRows) {
+        if (windowMs < 0 || maxRows < 1) {
+            throw new IllegalArgumentException("La ventana no puede ser negativa y el lote debe admitir al menos una fila");
+        }
+        this.repository = repository;
+        this.transactionalOperator = transactionalOperator;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Inserta los enlaces y suma sus usos; completa cuando el lote que los contiene quedó confirmado
+     */
+    public Mono<List<CapacidadTecnologia>> write(List<CapacidadTecnologia> links) {
+        if (links.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        if (!enabled) {
+            record(1, links.size());
+            return insert(links);
+        }
+        return Mono.create(sink -> enqueue(new PendingWrite(List.copyOf(links), sink)));
+    }
+
+    public Stats stats() {
+        long totalBatches = batches.sum();
+        long totalRequests = requests.sum();
+        long totalRows = rows.sum();
+        return new Stats(enabled, windowMs, maxRows, totalBatches, totalRequests, totalRows,
+                largestBatchRows.get(),
+                totalBatches == 0 ? 0.0 : (double) totalRows / totalBatches,
+                totalBatches == 0 ? 0.0 : (double) totalRequests / totalBatches,
+                retriedRequests.sum());
+    }
+
+    private void enqueue(PendingWrite write) {
+        List<PendingWrite> ready = null;
+        synchronized (lock) {
+            pending.add(write);
+            pendingRows += write.links().size();
+            if (pendingRows >= maxRows) {
+                ready = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = Schedulers.parallel().schedule(this::flushOnTimeout, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (ready != null) {
+            flush(ready);
+        }
+    }
+
+    private void flushOnTimeout() {
+        List<PendingWrite> ready;
+        synchronized (lock) {
+            ready = drain();
+        }
+        if (!ready.isEmpty()) {
+            flush(ready);
+        }
+    }
+
+    /**
+     * Se llama con el lock tomado
+     */
+    private List<PendingWrite> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        List<PendingWrite> ready = pending;
+        pending = new ArrayList<>();
+        pendingRows = 0;
+        return ready;
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<CapacidadTecnologia> all = batch.stream()
+                .flatMap(write -> write.links().stream())
+                .toList();
+        record(batch.size(), all.size());
+
+        insert(all).subscribe(
+                saved -> {
+                    int offset = 0;
+                    for (PendingWrite write : batch) {
+                        int size = write.links().size();
+                        write.sink().success(List.copyOf(saved.subList(offset, offset + size)));
+                        offset += size;
+                    }
+                },
+                error -> {
+                    if (batch.size() == 1) {
+                        batch.get(0).sink().error(error);
+                        return;
+                    }
+                    logger.warn("Falló un lote de {} enlaces, se reintentan los {} pedidos por separado",
+                            all.size(), batch.size(), error);
+                    retriedRequests.add(batch.size());
+                    batch.forEach(write -> insert(write.links())
+                            .subscribe(write.sink()::success, write.sink()::error));
+                });
+    }
+
+    private Mono<List<CapacidadTecnologia>> insert(List<CapacidadTecnologia> links) {
+        List<Long> tecnologiaIds = links.stream()
+                .map(CapacidadTecnologia::getTecnologiaId)
+                .toList();
+        return repository.lockExistingTecnologias(tecnologiaIds.stream().distinct().toList())
+                .collect(Collectors.toSet())
+                .flatMap(existentes -> {
+                    Optional<Long> borrada = tecnologiaIds.stream()
+                            .filter(id -> !existentes.contains(id))
+                            .findFirst();
+                    if (borrada.isPresent()) {
+                        return Mono.<List<CapacidadTecnologia>>error(new TecnologiaNotFoundException(borrada.get()));
+                    }
+                    return repository.insertAll(links)
+                            .collectList()
+                            .flatMap(saved -> repository.incrementUsage(tecnologiaIds).thenReturn(saved));
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    private void record(int batchRequests, int batchRows) {
+        batches.increment();
+        requests.add(batchRequests);
+        rows.add(batchRows);
+        largestBatchRows.accumulateAndGet(batchRows, Math::max);
+    }
+
+    private record PendingWrite(List<CapacidadTecnologia> links, MonoSink<List<CapacidadTecnologia>> sink) {
+    }
+
+    /**
+     * Métricas de agrupamiento: filas y pedidos promedio por lote, el lote más grande y los pedidos reintentados
+     */
+    public record Stats(boolean enabled,
+                        long windowMs,
+                        int maxRows,
+                        long batches,
+                        long requests,
+                        long rows,
+                        int largestBatchRows,
+                        double averageBatchRows,
+                        double averageRequestsPerBatch,
+                        long retriedRequests) {
+    }
+}
@@ -0,0 +1,353 @@
+package gabs.tecnologias.application.catalog;
+
+import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Relación capacidad → tecnologías en memoria sobre arreglos primitivos (CSR).
+ * Responde las tecnologías de una capacidad sin SQL ni boxing. Es solo para lecturas: las decisiones
+ * de escritura (qué tecnologías quedan exclusivas al borrar) se toman en SQL dentro de la transacción,
+ * por eso no se guarda el sentido inverso.
+ * <p>
+ * Cada escritura publica un grafo nuevo de forma atómica, pero no reconstruye los arreglos: anota el
+ * cambio en un delta pequeño (enlaces agregados, capacidades y tecnologías borradas) que las lecturas
+ * combinan con la base. Cuando el delta crece se fusiona con la base, fuera de las lecturas y bajo el
+ * mismo lock que serializa las escrituras. Como en el catálogo, lo escrito mientras una recarga lee la
+ * tabla se vuelve a aplicar sobre lo leído, y una recarga periódica corrige lo que quede desfasado.
+ */
+@Component
+@RequiredArgsConstructor
+public class CapacidadTecnologiaIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacidadTecnologiaIndex.class);
+
+    // El delta se fusiona al pasar de max(MIN_PENDING, √enlaces) cambios: cada escritura cuesta del orden
+    // del delta y cada fusión del total, así ninguna de las dos domina
+    static final int MIN_PENDING = 256;
+
+    private static final long[] NONE = new long[0];
+
+    private final CapacidadTecnologiaRepositoryPort repository;
+    private final AtomicReference<Graph> current = new AtomicReference<>(Graph.EMPTY);
+
+    private final Object writeLock = new Object();
+    private final List<UnaryOperator<Graph>> journal = new ArrayList<>();
+    private int refreshesInFlight;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh().subscribe(
+                stats -> logger.info("Índice capacidad-tecnología cargado: {} enlaces, {} bytes ({} bytes por enlace)",
+                        stats.links(), stats.bytes(), String.format("%.1f", stats.bytesPerLink())),
+                error -> logger.error("No se pudo cargar el índice capacidad-tecnología, se consultará la base de datos", error));
+    }
+
+    @Scheduled(initialDelayString = "${tecnologias.index.reconcile-ms:300000}",
+            fixedDelayString = "${tecnologias.index.reconcile-ms:300000}")
+    public Mono<Void> reconcile() {
+        return refresh()
+                .doOnError(error -> logger.warn("No se pudo reconciliar el índice capacidad-tecnología con la base de datos", error))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * Reconstruye el índice completo desde la base de datos, con las escrituras hechas durante la lectura
+     */
+    public Mono<Stats> refresh() {
+        return Mono.defer(() -> {
+            int journalStart = beginRefresh();
+            return repository.findAllLinks()
+                    .collectList()
+                    .map(links -> publishLoaded(links, journalStart).stats())
+                    .doFinally(signal -> endRefresh());
+        });
+    }
+
+    public boolean isLoaded() {
+        return current.get().version() > 0;
+    }
+
+    public long[] tecnologiasOf(long capacidadId) {
+        Graph graph = current.get();
+        Delta delta = graph.delta();
+        long[] base = Arrays.binarySearch(delta.removedCapacidades(), capacidadId) >= 0
+                ? NONE
+                : graph.byCapacidad().neighbors(capacidadId);
+        if (delta.isEmpty()) {
+            return base;
+        }
+        return union(without(base, delta.removedTecnologias()), delta.addedByCapacidad().neighbors(capacidadId));
+    }
+
+    public void addLinks(Long capacidadId, List<Long> tecnologiaIds) {
+        long[] nuevas = toSortedArray(tecnologiaIds);
+        write(graph -> graph.withLinks(capacidadId, nuevas));
+    }
+
+    public void removeCapacidades(Collection<Long> capacidadesIds) {
+        long[] set = toSortedArray(capacidadesIds);
+        write(graph -> graph.withoutCapacidades(set));
+    }
+
+    public void removeTecnologias(Collection<Long> tecnologiaIds) {
+        long[] set = toSortedArray(tecnologiaIds);
+        write(graph -> graph.withoutTecnologias(set));
+    }
+
+    public Stats stats() {
+        return current.get().stats();
+    }
+
+    /**
+     * Publica el grafo con el cambio aplicado. Antes de la carga inicial no hay índice que parchear:
+     * el cambio solo queda anotado para la recarga en curso, si la hay
+     */
+    private void write(UnaryOperator<Graph> change) {
+        synchronized (writeLock) {
+            if (refreshesInFlight > 0) {
+                journal.add(change);
+            }
+            Graph previous = current.get();
+            if (previous.version() == 0) {
+                return;
+            }
+            current.set(change.apply(previous));
+        }
+    }
+
+    /**
+     * Devuelve la posición del journal desde la que esta recarga debe reaplicar cambios
+     */
+    private int beginRefresh() {
+        synchronized (writeLock) {
+            refreshesInFlight++;
+            return journal.size();
+        }
+    }
+
+    private Graph publishLoaded(List<CapacidadTecnologia> links, int journalStart) {
+        long[] capacidades = new long[links.size()];
+        long[] tecnologias = new long[links.size()];
+        for (int i = 0; i < links.size(); i++) {
+            CapacidadTecnologia link = links.get(i);
+            capacidades[i] = link.getCapacidadId();
+            tecnologias[i] = link.getTecnologiaId();
+        }
+        // Los arreglos se construyen fuera del lock; las escrituras solo esperan la reaplicación del journal
+        Graph read = Graph.of(0, capacidades, tecnologias, links.size());
+        synchronized (writeLock) {
+            Graph loaded = new Graph(current.get().version() + 1, read.byCapacidad(), Delta.EMPTY);
+            // Lo escrito mientras se leía la tabla puede no estar en lo leído
+            for (int i = journalStart; i < journal.size(); i++) {
+                loaded = journal.get(i).apply(loaded);
+            }
+            current.set(loaded);
+            return loaded;
+        }
+    }
+
+    private void endRefresh() {
+        synchronized (writeLock) {
+            if (--refreshesInFlight == 0) {
+                journal.clear();
+            }
+        }
+    }
+
+    private static long[] toSortedArray(Collection<Long> ids) {
+        long[] array = ids.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(array);
+        return array;
+    }
+
+    /**
+     * Unión de dos arreglos ordenados y sin repetidos
+     */
+    private static long[] union(long[] a, long[] b) {
+        if (b.length == 0) {
+            return a;
+        }
+        long[] result = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length || j < b.length) {
+            long next = j == b.length || (i < a.length && a[i] <= b[j]) ? a[i] : b[j];
+            if (i < a.length && a[i] == next) {
+                i++;
+            }
+            if (j < b.length && b[j] == next) {
+                j++;
+            }
+            result[size++] = next;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Los elementos de {@code values} que no están en {@code sortedSet}
+     */
+    private static long[] without(long[] values, long[] sortedSet) {
+        if (sortedSet.length == 0) {
+            return values;
+        }
+        return Arrays.stream(values).filter(value -> Arrays.binarySearch(sortedSet, value) < 0).toArray();
+    }
+
+    /**
+     * Base en CSR más los cambios aún no fusionados
+     */
+    private record Graph(long version, LongCsr byCapacidad, Delta delta) {
+
+        static final Graph EMPTY = new Graph(0, LongCsr.EMPTY, Delta.EMPTY);
+
+        static Graph of(long version, long[] capacidades, long[] tecnologias, int size) {
+            return new Graph(version, LongCsr.build(capacidades, tecnologias, size), Delta.EMPTY);
+        }
+
+        Graph withLinks(long capacidadId, long[] nuevas) {
+            return next(delta.withLinks(capacidadId, nuevas));
+        }
+
+        Graph withoutCapacidades(long[] set) {
+            return next(delta.withoutCapacidades(set));
+        }
+
+        Graph withoutTecnologias(long[] set) {
+            return next(delta.withoutTecnologias(set));
+        }
+
+        private Graph next(Delta changed) {
+            Graph graph = new Graph(version + 1, byCapacidad, changed);
+            return changed.size() > Math.max(MIN_PENDING, (int) Math.sqrt(byCapacidad.size())) ? graph.merged() : graph;
+        }
+
+        /**
+         * Fusiona el delta con la base; es lineal en la cantidad de enlaces
+         */
+        Graph merged() {
+            int capacity = byCapacidad.size() + delta.addedCapacidades().length;
+            long[] capacidades = new long[capacity];
+            long[] tecnologias = new long[capacity];
+            int size = 0;
+            for (int k = 0; k < byCapacidad.keyCount(); k++) {
+                long capacidad = byCapacidad.keyAt(k);
+                if (Arrays.binarySearch(delta.removedCapacidades(), capacidad) >= 0) {
+                    continue;
+                }
+                for (int j = byCapacidad.start(k); j < byCapacidad.end(k); j++) {
+                    long tecnologia = byCapacidad.targetAt(j);
+                    if (Arrays.binarySearch(delta.removedTecnologias(), tecnologia) < 0) {
+                        capacidades[size] = capacidad;
+                        tecnologias[size++] = tecnologia;
+                    }
+                }
+            }
+            System.arraycopy(delta.addedCapacidades(), 0, capacidades, size, delta.addedCapacidades().length);
+            System.arraycopy(delta.addedTecnologias(), 0, tecnologias, size, delta.addedTecnologias().length);
+            return of(version, capacidades, tecnologias, size + delta.addedCapacidades().length);
+        }
+
+        Stats stats() {
+            int links = byCapacidad.size();
+            long bytes = byCapacidad.bytes();
+            return new Stats(version, links, byCapacidad.keyCount(), bytes,
+                    links == 0 ? 0.0 : (double) bytes / links, delta.size());
+        }
+    }
+
+    /**
+     * Cambios sobre la base: los enlaces borrados se ocultan por capacidad o tecnología y los agregados
+     * se indexan aparte. Un enlace agregado después de borrar su capacidad o tecnología sigue visible,
+     * porque los borrados solo ocultan enlaces de la base.
+     */
+    private record Delta(long[] addedCapacidades,
+                         long[] addedTecnologias,
+                         LongCsr addedByCapacidad,
+                         long[] removedCapacidades,
+                         long[] removedTecnologias) {
+
+        static final Delta EMPTY = new Delta(NONE, NONE, LongCsr.EMPTY, NONE, NONE);
+
+        static Delta of(long[] capacidades, long[] tecnologias, long[] removedCapacidades, long[] removedTecnologias) {
+            return new Delta(capacidades, tecnologias,
+                    LongCsr.build(capacidades, tecnologias, capacidades.length),
+                    removedCapacidades, removedTecnologias);
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        int size() {
+            return addedCapacidades.length + removedCapacidades.length + removedTecnologias.length;
+        }
+
+        Delta withLinks(long capacidadId, long[] nuevas) {
+            long[] capacidades = Arrays.copyOf(addedCapacidades, addedCapacidades.length + nuevas.length);
+            long[] tecnologias = Arrays.copyOf(addedTecnologias, addedTecnologias.length + nuevas.length);
+            Arrays.fill(capacidades, addedCapacidades.length, capacidades.length, capacidadId);
+            System.arraycopy(nuevas, 0, tecnologias, addedTecnologias.length, nuevas.length);
+            return of(capacidades, tecnologias, removedCapacidades, removedTecnologias);
+        }
+
+        Delta withoutCapacidades(long[] set) {
+            return keepAdded(set, true).withRemoved(union(removedCapacidades, distinct(set)), removedTecnologias);
+        }
+
+        Delta withoutTecnologias(long[] set) {
+            return keepAdded(set, false).withRemoved(removedCapacidades, union(removedTecnologias, distinct(set)));
+        }
+
+        /**
+         * Quita de los agregados los enlaces de esas capacidades (o tecnologías)
+         */
+        private Delta keepAdded(long[] set, boolean byCapacidadId) {
+            long[] keys = byCapacidadId ? addedCapacidades : addedTecnologias;
+            long[] capacidades = new long[keys.length];
+            long[] tecnologias = new long[keys.length];
+            int size = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (Arrays.binarySearch(set, keys[i]) < 0) {
+                    capacidades[size] = addedCapacidades[i];
+                    tecnologias[size++] = addedTecnologias[i];
+                }
+            }
+            return size == keys.length
+                    ? this
+                    : of(Arrays.copyOf(capacidades, size), Arrays.copyOf(tecnologias, size), removedCapacidades, removedTecnologias);
+        }
+
+        private Delta withRemoved(long[] capacidades, long[] tecnologias) {
+            return new Delta(addedCapacidades, addedTecnologias, addedByCapacidad, capacidades, tecnologias);
+        }
+
+        private static long[] distinct(long[] sorted) {
+            return Arrays.stream(sorted).distinct().toArray();
+        }
+    }
+
+    /**
+     * Tamaño del índice. links y bytes son de la base: pending cuenta los cambios del delta
+     * que todavía no se fusionaron
+     */
+    public record Stats(long version, int links, int capacidades, long bytes, double bytesPerLink,
+                        int pending) {
+    }
+}
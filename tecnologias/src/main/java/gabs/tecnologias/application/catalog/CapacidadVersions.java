@@ -0,0 +1,54 @@
+package gabs.tecnologias.application.catalog;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión de los enlaces de cada capacidad, para servir ETags sin consultar la base de datos.
+ * Cada cambio de enlaces toma un número nuevo de un contador global. Como las listas incluyen
+ * el nombre de cada tecnología, editar o borrar una tecnología sube una generación común a todas.
+ * El ETag incluye además el instante de arranque, así un ETag emitido antes de un reinicio
+ * nunca vuelve a coincidir.
+ * <p>
+ * Las versiones viven en memoria y solo las sube la instancia que atendió la escritura, así que
+ * el servicio debe correr con una sola instancia: con varias, otra instancia respondería 304
+ * para una lista que ya cambió. Escalar horizontalmente requiere derivar la versión de la base de datos.
+ */
+@Component
+public class CapacidadVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong tecnologiasGeneration = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public long version(Long capacidadId) {
+        return versions.getOrDefault(capacidadId, 0L);
+    }
+
+    /**
+     * ETag fuerte (entre comillas) de la versión actual de la capacidad
+     */
+    public String etag(Long capacidadId) {
+        return "\"" + epoch + "-" + tecnologiasGeneration.get() + "-" + version(capacidadId) + "\"";
+    }
+
+    public void bump(Long capacidadId) {
+        versions.put(capacidadId, sequence.incrementAndGet());
+    }
+
+    public void bumpAll(Collection<Long> capacidadesIds) {
+        capacidadesIds.forEach(this::bump);
+    }
+
+    /**
+     * Invalida los ETags de todas las capacidades tras editar o borrar una tecnología
+     */
+    public void bumpTecnologias() {
+        tecnologiasGeneration.incrementAndGet();
+    }
+}
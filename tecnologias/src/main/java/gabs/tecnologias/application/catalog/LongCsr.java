@@ -0,0 +1,113 @@
+package gabs.tecnologias.application.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Lista de adyacencia inmutable en formato CSR sobre arreglos primitivos.
+ * {@code keys} está ordenado; los vecinos de {@code keys[k]} son {@code targets[offsets[k]..offsets[k + 1])},
+ * también ordenados y sin repetidos. Los offsets son int porque la cantidad de enlaces cabe de sobra.
+ */
+final class LongCsr {
+
+    static final LongCsr EMPTY = new LongCsr(new long[0], new int[]{0}, new long[0]);
+
+    private static final long[] NONE = new long[0];
+
+    private final long[] keys;
+    private final int[] offsets;
+    private final long[] targets;
+
+    private LongCsr(long[] keys, int[] offsets, long[] targets) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Construye el índice a partir de los primeros {@code size} pares (from[i], to[i])
+     */
+    static LongCsr build(long[] from, long[] to, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        long[] keys = Arrays.copyOf(from, size);
+        Arrays.sort(keys);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        keys = Arrays.copyOf(keys, distinct);
+
+        int[] offsets = new int[distinct + 1];
+        int[] position = new int[size];
+        for (int i = 0; i < size; i++) {
+            position[i] = Arrays.binarySearch(keys, from[i]);
+            offsets[position[i] + 1]++;
+        }
+        for (int k = 0; k < distinct; k++) {
+            offsets[k + 1] += offsets[k];
+        }
+
+        long[] targets = new long[size];
+        int[] cursor = Arrays.copyOf(offsets, distinct);
+        for (int i = 0; i < size; i++) {
+            targets[cursor[position[i]]++] = to[i];
+        }
+
+        // Ordena cada fila y compacta los repetidos
+        int write = 0;
+        int[] compact = new int[distinct + 1];
+        for (int k = 0; k < distinct; k++) {
+            int start = offsets[k];
+            int end = offsets[k + 1];
+            Arrays.sort(targets, start, end);
+            compact[k] = write;
+            for (int j = start; j < end; j++) {
+                if (j == start || targets[j] != targets[j - 1]) {
+                    targets[write++] = targets[j];
+                }
+            }
+        }
+        compact[distinct] = write;
+        return new LongCsr(keys, compact, write == size ? targets : Arrays.copyOf(targets, write));
+    }
+
+    long[] neighbors(long key) {
+        int k = Arrays.binarySearch(keys, key);
+        return k < 0 ? NONE : Arrays.copyOfRange(targets, offsets[k], offsets[k + 1]);
+    }
+
+    int keyCount() {
+        return keys.length;
+    }
+
+    int size() {
+        return targets.length;
+    }
+
+    long keyAt(int k) {
+        return keys[k];
+    }
+
+    int start(int k) {
+        return offsets[k];
+    }
+
+    int end(int k) {
+        return offsets[k + 1];
+    }
+
+    long targetAt(int j) {
+        return targets[j];
+    }
+
+    /**
+     * Bytes de los tres arreglos, contando 16 bytes de cabecera por arreglo
+     */
+    long bytes() {
+        return 3 * 16L + keys.length * 8L + offsets.length * 4L + targets.length * 8L;
+    }
+}
@@ -0,0 +1,240 @@
+package gabs.tecnologias.application.catalog;
+
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.port.TecnologiaRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Catálogo de tecnologías en memoria.
+ * Guarda una foto inmutable de la tabla indexada por id y por nombre; cada escritura
+ * construye una foto nueva y la publica de forma atómica, así las lecturas nunca bloquean.
+ * Las instancias de {@link Tecnologia} de la foto no se deben modificar.
+ * <p>
+ * Las escrituras y las recargas se serializan con un lock. Mientras una recarga lee la tabla,
+ * cada escritura queda además anotada y se vuelve a aplicar sobre lo leído antes de publicarlo,
+ * así un cambio confirmado durante la lectura no se pierde. Una recarga periódica corrige
+ * cualquier diferencia que quede (por ejemplo, escrituras hechas por otra instancia).
+ */
+@Component
+@RequiredArgsConstructor
+public class TecnologiaCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TecnologiaCatalog.class);
+
+    private final TecnologiaRepositoryPort repository;
+    private final TecnologiaNombreIndex nombreIndex;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    private final Object writeLock = new Object();
+    private final List<Consumer<Map<Long, Tecnologia>>> journal = new ArrayList<>();
+    private int refreshesInFlight;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh().subscribe(
+                snapshot -> logger.info("Catálogo de tecnologías cargado: {} tecnologías (versión {})",
+                        snapshot.size(), snapshot.version()),
+                error -> logger.error("No se pudo cargar el catálogo de tecnologías, se leerá desde la base de datos", error));
+    }
+
+    @Scheduled(initialDelayString = "${tecnologias.catalog.reconcile-ms:300000}",
+            fixedDelayString = "${tecnologias.catalog.reconcile-ms:300000}")
+    public Mono<Void> reconcile() {
+        return refresh()
+                .doOnError(error -> logger.warn("No se pudo reconciliar el catálogo de tecnologías con la base de datos", error))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * Reconstruye la foto completa desde la base de datos, con las escrituras hechas durante la lectura
+     */
+    public Mono<Snapshot> refresh() {
+        return Mono.defer(() -> {
+            int journalStart = beginRefresh();
+            return repository.findAll()
+                    .map(TecnologiaCatalog::copy)
+                    .collectList()
+                    .map(tecnologias -> publishLoaded(tecnologias, journalStart))
+                    .doFinally(signal -> endRefresh());
+        });
+    }
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Indica si la foto ya se cargó al menos una vez desde la base de datos
+     */
+    public boolean isLoaded() {
+        return current.get().version() > 0;
+    }
+
+    public Optional<Tecnologia> findById(Long id) {
+        return Optional.ofNullable(current.get().byId().get(id));
+    }
+
+    public Optional<Tecnologia> findByNombre(String nombre) {
+        return Optional.ofNullable(current.get().byNombre().get(normalize(nombre)));
+    }
+
+    public boolean existsById(Long id) {
+        return current.get().byId().containsKey(id);
+    }
+
+    public List<Tecnologia> findAll() {
+        return current.get().all();
+    }
+
+    /**
+     * Tecnologías cuyo nombre empieza por el prefijo, sin distinguir mayúsculas ni tildes
+     */
+    public List<Tecnologia> searchByPrefix(String prefix, int limit) {
+        return nombreIndex.search(prefix, limit);
+    }
+
+    /**
+     * Filtra por etiquetas ya normalizadas con los BitSet de la foto, sin consultar la base de datos
+     */
+    public List<Tecnologia> findByTags(Collection<String> tags, boolean matchAll) {
+        return current.get().tags().find(tags, matchAll);
+    }
+
+    public void put(Tecnologia tecnologia) {
+        Tecnologia copia = copy(tecnologia);
+        write(byId -> byId.put(copia.getId(), copia), nombres -> nombres.put(copia));
+    }
+
+    public void remove(Long id) {
+        write(byId -> byId.remove(id), nombres -> nombres.remove(id));
+    }
+
+    public void removeAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> copia = List.copyOf(ids);
+        write(byId -> copia.forEach(byId::remove), nombres -> copia.forEach(nombres::remove));
+    }
+
+    /**
+     * Publica una foto nueva con el cambio aplicado. Antes de la carga inicial no hay foto que parchear:
+     * el cambio solo queda anotado para la recarga en curso, si la hay
+     */
+    private void write(Consumer<Map<Long, Tecnologia>> change, Consumer<TecnologiaNombreIndex> nombres) {
+        synchronized (writeLock) {
+            if (refreshesInFlight > 0) {
+                journal.add(change);
+            }
+            Snapshot previous = current.get();
+            if (previous.version() == 0) {
+                return;
+            }
+            Map<Long, Tecnologia> byId = new LinkedHashMap<>(previous.byId());
+            change.accept(byId);
+            current.set(Snapshot.of(previous.version() + 1, byId.values()));
+            nombres.accept(nombreIndex);
+        }
+    }
+
+    /**
+     * Devuelve la posición del journal desde la que esta recarga debe reaplicar cambios
+     */
+    private int beginRefresh() {
+        synchronized (writeLock) {
+            refreshesInFlight++;
+            return journal.size();
+        }
+    }
+
+    private Snapshot publishLoaded(List<Tecnologia> tecnologias, int journalStart) {
+        synchronized (writeLock) {
+            Map<Long, Tecnologia> byId = new LinkedHashMap<>();
+            tecnologias.forEach(tecnologia -> byId.put(tecnologia.getId(), tecnologia));
+            // Lo escrito mientras se leía la tabla puede no estar en lo leído
+            for (int i = journalStart; i < journal.size(); i++) {
+                journal.get(i).accept(byId);
+            }
+            Snapshot loaded = Snapshot.of(current.get().version() + 1, byId.values());
+            nombreIndex.rebuild(loaded.all());
+            current.set(loaded);
+            return loaded;
+        }
+    }
+
+    private void endRefresh() {
+        synchronized (writeLock) {
+            if (--refreshesInFlight == 0) {
+                journal.clear();
+            }
+        }
+    }
+
+    static String normalize(String nombre) {
+        return nombre == null ? null : nombre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Tecnologia copy(Tecnologia source) {
+        Tecnologia copia = new Tecnologia();
+        copia.setId(source.getId());
+        copia.setNombre(source.getNombre());
+        copia.setDescripcion(source.getDescripcion());
+        copia.setTags(source.getTags());
+        return copia;
+    }
+
+    /**
+     * Foto inmutable del catálogo
+     */
+    public record Snapshot(long version,
+                           Instant refreshedAt,
+                           Map<Long, Tecnologia> byId,
+                           Map<String, Tecnologia> byNombre,
+                           List<Tecnologia> all,
+                           TecnologiaTagIndex tags) {
+
+        static final Snapshot EMPTY = new Snapshot(0, Instant.EPOCH, Map.of(), Map.of(), List.of(), TecnologiaTagIndex.EMPTY);
+
+        static Snapshot of(long version, Collection<Tecnologia> tecnologias) {
+            Map<Long, Tecnologia> byId = new LinkedHashMap<>();
+            Map<String, Tecnologia> byNombre = new HashMap<>();
+            for (Tecnologia tecnologia : tecnologias) {
+                byId.put(tecnologia.getId(), tecnologia);
+                byNombre.put(normalize(tecnologia.getNombre()), tecnologia);
+            }
+            List<Tecnologia> all = List.copyOf(byId.values());
+            return new Snapshot(
+                    version,
+                    Instant.now(),
+                    Collections.unmodifiableMap(byId),
+                    Collections.unmodifiableMap(byNombre),
+                    all,
+                    TecnologiaTagIndex.of(all));
+        }
+
+        public int size() {
+            return byId.size();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package gabs.tecnologias.application.catalog;
+
+import gabs.tecnologias.domain.model.Tecnologia;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice ordenado por nombre normalizado (sin mayúsculas ni tildes) para autocompletar.
+ * Las búsquedas por prefijo recorren solo las claves que empiezan por el prefijo; las
+ * escrituras se aplican de a una y la reconstrucción completa publica un índice nuevo.
+ * Solo lo modifica {@link TecnologiaCatalog}, bajo el mismo lock con el que publica sus fotos.
+ */
+@Component
+public class TecnologiaNombreIndex {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final char SEPARADOR = '\u0000';
+
+    private volatile Entries entries = new Entries();
+
+    public List<Tecnologia> search(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        List<Tecnologia> result = new ArrayList<>(Math.min(limit, 16));
+        for (Map.Entry<String, Tecnologia> entry : entries.byKey().tailMap(normalizedPrefix, true).entrySet()) {
+            if (result.size() == limit || !entry.getKey().startsWith(normalizedPrefix)) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    public synchronized void rebuild(Collection<Tecnologia> tecnologias) {
+        Entries rebuilt = new Entries();
+        tecnologias.forEach(rebuilt::put);
+        entries = rebuilt;
+    }
+
+    public synchronized void put(Tecnologia tecnologia) {
+        entries.put(tecnologia);
+    }
+
+    public synchronized void remove(Long id) {
+        entries.remove(id);
+    }
+
+    public int size() {
+        return entries.keyById().size();
+    }
+
+    static String normalize(String nombre) {
+        if (nombre == null) {
+            return "";
+        }
+        String sinTildes = MARCAS.matcher(Normalizer.normalize(nombre.trim(), Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entries(ConcurrentSkipListMap<String, Tecnologia> byKey, Map<Long, String> keyById) {
+
+        Entries() {
+            this(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+        }
+
+        void put(Tecnologia tecnologia) {
+            // El id desempata nombres que normalizan igual
+            String key = normalize(tecnologia.getNombre()) + SEPARADOR + tecnologia.getId();
+            byKey.put(key, tecnologia);
+            String previous = keyById.put(tecnologia.getId(), key);
+            if (previous != null && !previous.equals(key)) {
+                byKey.remove(previous);
+            }
+        }
+
+        void remove(Long id) {
+            String previous = keyById.remove(id);
+            if (previous != null) {
+                byKey.remove(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package gabs.tecnologias.application.catalog;
+
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaTags;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Un BitSet por etiqueta sobre la posición de cada tecnología en la foto del catálogo.
+ * Las posiciones son densas (0..n-1), así cada conjunto ocupa n bits y los filtros
+ * se resuelven con AND/OR palabra por palabra. Es inmutable; se arma junto con cada foto.
+ */
+public final class TecnologiaTagIndex {
+
+    static final TecnologiaTagIndex EMPTY = new TecnologiaTagIndex(List.of(), Map.of());
+
+    private final List<Tecnologia> byPosition;
+    private final Map<String, BitSet> byTag;
+
+    private TecnologiaTagIndex(List<Tecnologia> byPosition, Map<String, BitSet> byTag) {
+        this.byPosition = byPosition;
+        this.byTag = byTag;
+    }
+
+    static TecnologiaTagIndex of(List<Tecnologia> tecnologias) {
+        Map<String, BitSet> byTag = new HashMap<>();
+        for (int i = 0; i < tecnologias.size(); i++) {
+            for (String tag : TecnologiaTags.split(tecnologias.get(i).getTags())) {
+                byTag.computeIfAbsent(tag, key -> new BitSet(tecnologias.size())).set(i);
+            }
+        }
+        return new TecnologiaTagIndex(tecnologias, byTag);
+    }
+
+    /**
+     * Tecnologías con todas las etiquetas (matchAll) o con alguna de ellas, en el orden del catálogo
+     */
+    List<Tecnologia> find(Collection<String> tags, boolean matchAll) {
+        BitSet result = null;
+        for (String tag : tags) {
+            BitSet bits = byTag.get(tag);
+            if (bits == null) {
+                if (matchAll) {
+                    return List.of();
+                }
+                continue;
+            }
+            if (result == null) {
+                result = (BitSet) bits.clone();
+            } else if (matchAll) {
+                result.and(bits);
+            } else {
+                result.or(bits);
+            }
+        }
+        if (result == null) {
+            return List.of();
+        }
+
+        List<Tecnologia> tecnologias = new ArrayList<>(result.cardinality());
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            tecnologias.add(byPosition.get(i));
+        }
+        return tecnologias;
+    }
+}
@@ -0,0 +1,30 @@
+package gabs.tecnologias.application.changes;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import gabs.tecnologias.dto.TecnologiaResponse;
+
+import java.util.List;
+
+/**
+ * Evento del feed de cambios del catálogo. Solo se llenan los campos que aplican a cada tipo.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TecnologiaChange(long seq,
+                               Type type,
+                               TecnologiaResponse tecnologia,
+                               Long tecnologiaId,
+                               Long capacidadId,
+                               List<Long> tecnologiaIds) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        LINKED,
+        UNLINKED,
+        /**
+         * El cliente quedó fuera del buffer: debe recargar el catálogo completo y seguir desde este seq
+         */
+        RESYNC
+    }
+}
@@ -0,0 +1,115 @@
+package gabs.tecnologias.application.changes;
+
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaTags;
+import gabs.tecnologias.dto.TecnologiaResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feed de cambios de tecnologías y enlaces con capacidades.
+ * Los últimos eventos se guardan en un buffer circular para que un cliente pueda retomar
+ * desde su último seq; si se quedó más atrás que el buffer recibe un evento RESYNC.
+ * Los suscriptores en vivo solo reciben un aviso y leen los eventos del buffer con su propio cursor,
+ * así ninguno pierde eventos por ir más lento que los demás.
+ */
+@Component
+public class TecnologiaChangeFeed {
+
+    private static final Duration EMIT_TIMEOUT = Duration.ofMillis(100);
+
+    private final TecnologiaChange[] buffer;
+    private final Sinks.Many<Long> signals = Sinks.many().multicast().directBestEffort();
+    private long lastSeq;
+
+    public TecnologiaChangeFeed(@Value("${tecnologias.changes.buffer-size:1024}") int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("El buffer de cambios debe tener al menos un evento");
+        }
+        this.buffer = new TecnologiaChange[bufferSize];
+    }
+
+    public void created(Tecnologia tecnologia) {
+        publish(TecnologiaChange.Type.CREATED, toResponse(tecnologia), tecnologia.getId(), null, null);
+    }
+
+    public void updated(Tecnologia tecnologia) {
+        publish(TecnologiaChange.Type.UPDATED, toResponse(tecnologia), tecnologia.getId(), null, null);
+    }
+
+    public void deleted(Long tecnologiaId) {
+        publish(TecnologiaChange.Type.DELETED, null, tecnologiaId, null, null);
+    }
+
+    public void linked(Long capacidadId, List<Long> tecnologiaIds) {
+        publish(TecnologiaChange.Type.LINKED, null, null, capacidadId, List.copyOf(tecnologiaIds));
+    }
+
+    public void unlinked(Long capacidadId) {
+        publish(TecnologiaChange.Type.UNLINKED, null, null, capacidadId, null);
+    }
+
+    public synchronized long lastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Eventos con seq mayor a {@code since} seguidos de los cambios en vivo; sin since empieza desde ahora
+     */
+    public Flux<TecnologiaChange> changesSince(Long since) {
+        return Flux.defer(() -> {
+            AtomicLong cursor = new AtomicLong(since == null ? lastSeq() : since);
+            // Primero se suscribe a los avisos y luego se drena, así no se pierde nada entre medio
+            return Flux.merge(signals.asFlux().onBackpressureLatest(), Mono.just(0L))
+                    .concatMapIterable(signal -> drain(cursor));
+        });
+    }
+
+    private void publish(TecnologiaChange.Type type,
+                         TecnologiaResponse tecnologia,
+                         Long tecnologiaId,
+                         Long capacidadId,
+                         List<Long> tecnologiaIds) {
+        long seq;
+        synchronized (this) {
+            seq = ++lastSeq;
+            buffer[slot(seq)] = new TecnologiaChange(seq, type, tecnologia, tecnologiaId, capacidadId, tecnologiaIds);
+        }
+        // El aviso se emite fuera del lock; si otro hilo está emitiendo se reintenta
+        signals.emitNext(seq, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+    }
+
+    private synchronized List<TecnologiaChange> drain(AtomicLong cursor) {
+        long from = cursor.get();
+        if (from == lastSeq) {
+            return List.of();
+        }
+        cursor.set(lastSeq);
+        // Cursor más viejo que el buffer o de antes de un reinicio
+        if (from < lastSeq - buffer.length || from > lastSeq) {
+            return List.of(new TecnologiaChange(lastSeq, TecnologiaChange.Type.RESYNC, null, null, null, null));
+        }
+        List<TecnologiaChange> pending = new ArrayList<>((int) (lastSeq - from));
+        for (long seq = from + 1; seq <= lastSeq; seq++) {
+            pending.add(buffer[slot(seq)]);
+        }
+        return pending;
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % buffer.length);
+    }
+
+    private static TecnologiaResponse toResponse(Tecnologia tecnologia) {
+        return new TecnologiaResponse(tecnologia.getId(), tecnologia.getNombre(), tecnologia.getDescripcion(),
+                TecnologiaTags.split(tecnologia.getTags()));
+    }
+}
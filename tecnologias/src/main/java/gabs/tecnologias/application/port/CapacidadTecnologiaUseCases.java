@@ -1,16 +1,23 @@
 package gabs.tecnologias.application.port;
 
 import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.model.TecnologiaSnapshot;
+import gabs.tecnologias.domain.model.TecnologiaUso;
 import gabs.tecnologias.dto.CapacidadTecnologiaResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Map;
 
 public interface CapacidadTecnologiaUseCases {
     Flux<CapacidadTecnologiaResponse> getTechnologiesListByCapacidad(Long id);
+    Mono<Map<Long, List<CapacidadTecnologiaResponse>>> getTechnologiesListByCapacidades(List<Long> capacidadesIds);
     Flux<CapacidadTecnologia> register(Long capacidadId, List<Long> tecnologiaId);
     Mono<Void> deleteCapacidadesByCapacidadesIds(List<Long> capacidadesId);
+    long snapshotVersion();
+    Mono<TecnologiaSnapshot> snapshot();
+    Flux<TecnologiaUso> findTopUsed(Integer n);
 
 
 }
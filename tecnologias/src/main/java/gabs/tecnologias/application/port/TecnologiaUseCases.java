@@ -1,17 +1,31 @@
 package gabs.tecnologias.application.port;
 
 
+import gabs.tecnologias.application.changes.TecnologiaChange;
 import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaBatchItem;
+import gabs.tecnologias.domain.model.TecnologiaPage;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
 public interface TecnologiaUseCases {
 
      Flux<Tecnologia> findAll();
+     Flux<Tecnologia> streamAll();
+     Mono<TecnologiaPage> findPage(String cursor, Integer limit, String direction);
      Mono<Tecnologia> findById(Long id);
      Mono<Boolean> existsById(Long id);
+     Mono<Map<Long, Boolean>> existsByIds(List<Long> ids);
      Mono<Tecnologia> create(Tecnologia tecnologia);
+     Flux<TecnologiaBatchItem> createAll(List<Tecnologia> tecnologias);
      Mono<Tecnologia> updateParcial(Long id, Tecnologia tecnologia);
      Mono<Tecnologia> findByNombre(String nombre);
+     Flux<Tecnologia> searchByPrefix(String prefix, Integer limit);
+     Flux<Tecnologia> findByTags(List<String> tags, String mode);
      Mono<Void> delete(Long id);
+     Mono<List<Long>> deleteAll(List<Long> ids);
+     Flux<TecnologiaChange> changesSince(Long since);
 }
@@ -1,26 +1,49 @@
 package gabs.tecnologias.application.service;
 
+import gabs.tecnologias.application.batch.CapacidadTecnologiaBatchWriter;
+import gabs.tecnologias.application.catalog.CapacidadTecnologiaIndex;
+import gabs.tecnologias.application.catalog.TecnologiaCatalog;
+import gabs.tecnologias.application.changes.TecnologiaChangeFeed;
+import gabs.tecnologias.application.stats.TecnologiaTopUsage;
 import gabs.tecnologias.application.port.CapacidadTecnologiaUseCases;
 import gabs.tecnologias.domain.exception.CapacidadTecnologiaNotFoundException;
 import gabs.tecnologias.domain.exception.TecnologiaNotFoundException;
 import gabs.tecnologias.domain.exception.ValidationException;
 import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaSnapshot;
+import gabs.tecnologias.domain.model.TecnologiaUso;
 import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
 import gabs.tecnologias.domain.port.TecnologiaRepositoryPort;
 import gabs.tecnologias.dto.CapacidadTecnologiaResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CapacidadTecnologiaService implements CapacidadTecnologiaUseCases {
 
+    static final int DEFAULT_TOP = 10;
+
     private final CapacidadTecnologiaRepositoryPort repository;
     private final TecnologiaRepositoryPort tecnologiaRepository;
+    private final TecnologiaCatalog catalog;
+    private final TecnologiaChangeFeed changes;
+    private final TecnologiaTopUsage topUsage;
+    private final CapacidadTecnologiaIndex index;
+    private final CapacidadTecnologiaBatchWriter batchWriter;
+    private final TransactionalOperator transactionalOperator;
 
 
     @Override
@@ -28,21 +51,46 @@ public class CapacidadTecnologiaService implements CapacidadTecnologiaUseCases {
         if (id == null) {
             return Flux.error(new ValidationException("id", "El ID de capacidad no puede ser nulo"));
         }
-        
-        return repository.findByCapacidadId(id)
+
+        // Con el índice y el catálogo cargados la lista se arma en memoria, ordenada por id de tecnología
+        if (index.isLoaded() && catalog.isLoaded()) {
+            long[] tecnologiaIds = index.tecnologiasOf(id);
+            if (tecnologiaIds.length == 0) {
+                return Flux.error(new CapacidadTecnologiaNotFoundException(id));
+            }
+            return Flux.fromArray(Arrays.stream(tecnologiaIds).boxed().toArray(Long[]::new))
+                    .mapNotNull(tecnologiaId -> catalog.findById(tecnologiaId)
+                            .map(tecnologia -> new CapacidadTecnologiaResponse(tecnologia.getId(), tecnologia.getNombre()))
+                            .orElse(null));
+        }
+
+        // Un solo JOIN trae id y nombre de cada tecnología de la capacidad
+        return repository.findTecnologiasByCapacidadId(id)
                 .switchIfEmpty(Flux.error(new CapacidadTecnologiaNotFoundException(id)))
-                .flatMap(tecnologiaCapacidad ->
-                        tecnologiaRepository.findById(tecnologiaCapacidad.getTecnologiaId())
-                                .switchIfEmpty(Mono.error(new TecnologiaNotFoundException(tecnologiaCapacidad.getTecnologiaId())))
-                                .map(tecnologia -> {
-                                    CapacidadTecnologiaResponse response = new CapacidadTecnologiaResponse();
-                                    response.setId(tecnologia.getId());
-                                    response.setNombre(tecnologia.getNombre());
-                                    return response;
-                                })
-                );
+                .map(row -> new CapacidadTecnologiaResponse(row.getId(), row.getNombre()));
+    }
+
+    @Override
+    public Mono<Map<Long, List<CapacidadTecnologiaResponse>>> getTechnologiesListByCapacidades(List<Long> capacidadesIds) {
+        if (capacidadesIds == null || capacidadesIds.isEmpty()) {
+            return Mono.error(new ValidationException("capacidadesIds", "La lista de IDs de capacidades no puede estar vacía"));
+        }
+
+        return repository.findTecnologiasByCapacidadesIds(capacidadesIds)
+                .collect(() -> {
+                    // Cada capacidad pedida aparece en el mapa, aunque no tenga tecnologías
+                    Map<Long, List<CapacidadTecnologiaResponse>> result = new LinkedHashMap<>();
+                    capacidadesIds.forEach(id -> result.put(id, new ArrayList<>()));
+                    return result;
+                }, (map, row) -> map
+                        .computeIfAbsent(row.getCapacidadId(), id -> new ArrayList<>())
+                        .add(new CapacidadTecnologiaResponse(row.getId(), row.getNombre())));
     }
 
+    /**
+     * Sin transacción propia: la escritura la agrupa el batch writer con otros pedidos concurrentes
+     * y la confirma en su propia transacción, así el pedido no retiene una conexión mientras espera
+     */
     @Override
     public Flux<CapacidadTecnologia> register(Long capacidadId, List<Long> tecnologiaIds) {
         if (capacidadId == null) {
@@ -52,31 +100,97 @@ public class CapacidadTecnologiaService implements CapacidadTecnologiaUseCases {
             return Flux.error(new ValidationException("tecnologiaIds", "La lista de IDs de tecnologías no puede estar vacía"));
         }
         
-        return Flux.fromIterable(tecnologiaIds)
-                .flatMap(tecnologiaId -> 
-                    tecnologiaRepository.findById(tecnologiaId)
-                        .switchIfEmpty(Mono.error(new TecnologiaNotFoundException(tecnologiaId)))
-                        .map(tecnologia -> {
-                            CapacidadTecnologia entity = new CapacidadTecnologia();
-                            entity.setCapacidadId(capacidadId);
-                            entity.setTecnologiaId(tecnologiaId);
-                            return entity;
-                        })
-                )
-                .flatMap(repository::save);
+        List<Long> ids = tecnologiaIds.stream().distinct().toList();
+
+        // Una consulta valida todos los ids y corta pronto; el escritor los vuelve a comprobar dentro de
+        // la transacción del INSERT compartido del lote, por si se borró alguno entre medio
+        return tecnologiaRepository.findExistingIds(ids)
+                .collect(Collectors.toSet())
+                .flatMapMany(existentes -> {
+                    Optional<Long> inexistente = ids.stream()
+                            .filter(id -> !existentes.contains(id))
+                            .findFirst();
+                    if (inexistente.isPresent()) {
+                        return Flux.error(new TecnologiaNotFoundException(inexistente.get()));
+                    }
+
+                    List<CapacidadTecnologia> entities = ids.stream()
+                            .map(tecnologiaId -> {
+                                CapacidadTecnologia entity = new CapacidadTecnologia();
+                                entity.setCapacidadId(capacidadId);
+                                entity.setTecnologiaId(tecnologiaId);
+                                return entity;
+                            })
+                            .toList();
+                    return batchWriter.write(entities)
+                            .doOnSuccess(saved -> {
+                                index.addLinks(capacidadId, ids);
+                                changes.linked(capacidadId, ids);
+                            })
+                            .flatMapMany(Flux::fromIterable);
+                });
     }
 
+    /**
+     * La transacción cubre solo las escrituras: el catálogo, el índice y el feed se actualizan después
+     * del commit, así un rollback no deja eventos ni bajas en memoria de cambios que no ocurrieron
+     */
     @Override
     public Mono<Void> deleteCapacidadesByCapacidadesIds(List<Long> capacidadesIds) {
         if (capacidadesIds == null || capacidadesIds.isEmpty()) {
             return Mono.error(new ValidationException("capacidadesIds", "La lista de IDs de capacidades no puede estar vacía"));
         }
         
+        // Las exclusivas se calculan en SQL dentro de la transacción: el índice en memoria es solo para
+        // lecturas y puede ir detrás de la tabla, un enlace que aún no ve haría borrar una tecnología en uso
         return repository.findExclusiveTechsByCapacidadesIds(capacidadesIds)
                 .collectList()
-                .flatMap(tecnologiaRepository::deleteAllById)
-                .then(repository.deleteByCapacidadesIds(capacidadesIds))
+                .flatMap(ids -> repository.decrementUsageByCapacidadesIds(capacidadesIds)
+                        .then(repository.deleteUsage(ids))
+                        .then(tecnologiaRepository.deleteAllById(ids))
+                        .then(repository.deleteByCapacidadesIds(capacidadesIds))
+                        .thenReturn(ids))
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(ids -> {
+                    catalog.removeAll(ids);
+                    index.removeCapacidades(capacidadesIds);
+                    index.removeTecnologias(ids);
+                    capacidadesIds.forEach(changes::unlinked);
+                    ids.forEach(changes::deleted);
+                })
                 .then();
     }
 
+    @Override
+    public long snapshotVersion() {
+        return changes.lastSeq();
+    }
+
+    /**
+     * La versión se toma antes de leer: un cambio concurrente queda dentro de la foto o se vuelve a recibir por el feed
+     */
+    @Override
+    public Mono<TecnologiaSnapshot> snapshot() {
+        return Mono.defer(() -> {
+            long version = changes.lastSeq();
+            Flux<Tecnologia> tecnologias = catalog.isLoaded()
+                    ? Flux.fromIterable(catalog.findAll())
+                    : tecnologiaRepository.findAll();
+            return Mono.zip(tecnologias.collectList(), repository.findAllLinks().collectList())
+                    .map(tuple -> new TecnologiaSnapshot(version, tuple.getT1(), tuple.getT2()));
+        });
+    }
+
+    /**
+     * Se sirve del último ranking precalculado, nunca consulta la base de datos
+     */
+    @Override
+    public Flux<TecnologiaUso> findTopUsed(Integer n) {
+        int limit = n == null ? DEFAULT_TOP : n;
+        if (limit < 1 || limit > topUsage.size()) {
+            return Flux.error(new ValidationException("n", "n debe estar entre 1 y " + topUsage.size()));
+        }
+        return Flux.fromIterable(topUsage.top(limit));
+    }
+
 }
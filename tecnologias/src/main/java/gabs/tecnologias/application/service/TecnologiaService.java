@@ -1,33 +1,129 @@
 package gabs.tecnologias.application.service;
 
+import gabs.tecnologias.application.catalog.CapacidadTecnologiaIndex;
+import gabs.tecnologias.application.catalog.CapacidadVersions;
+import gabs.tecnologias.application.changes.TecnologiaChange;
+import gabs.tecnologias.application.changes.TecnologiaChangeFeed;
+import gabs.tecnologias.application.catalog.TecnologiaCatalog;
 import gabs.tecnologias.application.port.TecnologiaUseCases;
 import gabs.tecnologias.domain.exception.TecnologiaNotFoundException;
 import gabs.tecnologias.domain.exception.ValidationException;
 import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaBatchItem;
+import gabs.tecnologias.domain.model.TecnologiaCursor;
+import gabs.tecnologias.domain.model.TecnologiaPage;
+import gabs.tecnologias.domain.model.TecnologiaTags;
+import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
 import gabs.tecnologias.domain.port.TecnologiaRepositoryPort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class TecnologiaService implements TecnologiaUseCases {
+    static final int DEFAULT_PAGE_LIMIT = 20;
+    static final int MAX_PAGE_LIMIT = 100;
+    static final int DEFAULT_SEARCH_LIMIT = 10;
+    static final int MAX_SEARCH_LIMIT = 50;
+    static final int MAX_BATCH_SIZE = 1000;
+
     private final TecnologiaRepositoryPort repository;
+    private final CapacidadTecnologiaRepositoryPort capacidadTecnologiaRepository;
+    private final TecnologiaCatalog catalog;
+    private final CapacidadVersions capacidadVersions;
+    private final TecnologiaChangeFeed changes;
+    private final CapacidadTecnologiaIndex index;
+    private final TransactionalOperator transactionalOperator;
 
 
+    // Las lecturas salen del catálogo en memoria; mientras no se haya cargado se consulta la base de datos
+    @Override
+    public Flux<Tecnologia> findAll() {
+        return catalog.isLoaded()
+                ? Flux.fromIterable(catalog.findAll())
+                : repository.findAll();
+    }
+    /**
+     * Lee directo de la base de datos fila a fila, respetando la contrapresión del cliente
+     */
+    @Override
+    public Flux<Tecnologia> streamAll() {
+        return repository.findAll();
+    }
 
     @Override
-    public Flux<Tecnologia> findAll() { return repository.findAll(); }
+    public Mono<TecnologiaPage> findPage(String cursor, Integer limit, String direction) {
+        int pageLimit = limit == null ? DEFAULT_PAGE_LIMIT : limit;
+        if (pageLimit < 1 || pageLimit > MAX_PAGE_LIMIT) {
+            return Mono.error(new ValidationException("limit", "El límite debe estar entre 1 y " + MAX_PAGE_LIMIT));
+        }
+        if (direction != null && !"asc".equalsIgnoreCase(direction) && !"desc".equalsIgnoreCase(direction)) {
+            return Mono.error(new ValidationException("direction", "La dirección debe ser asc o desc"));
+        }
+        boolean descending = "desc".equalsIgnoreCase(direction);
+
+        TecnologiaCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : TecnologiaCursor.decode(cursor);
+        } catch (ValidationException e) {
+            return Mono.error(e);
+        }
+
+        // Se pide una fila de más para saber si hay página siguiente
+        return repository.findPage(after, pageLimit + 1, descending)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= pageLimit) {
+                        return new TecnologiaPage(rows, null);
+                    }
+                    List<Tecnologia> items = rows.subList(0, pageLimit);
+                    return new TecnologiaPage(items, TecnologiaCursor.of(items.get(pageLimit - 1)).encode());
+                });
+    }
+
     @Override
     public Mono<Tecnologia> findById(Long id) { 
-        return repository.findById(id)
+        Mono<Tecnologia> tecnologia = catalog.isLoaded()
+                ? Mono.justOrEmpty(catalog.findById(id))
+                : repository.findById(id);
+        return tecnologia
                 .switchIfEmpty(Mono.error(new TecnologiaNotFoundException(id)));
     }
 
     @Override
     public Mono<Boolean> existsById(Long id) {
-        return repository.existsById(id);
+        return catalog.isLoaded()
+                ? Mono.just(catalog.existsById(id))
+                : repository.existsById(id);
+    }
+
+    @Override
+    public Mono<Map<Long, Boolean>> existsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Mono.error(new ValidationException("ids", "La lista de IDs de tecnologías no puede estar vacía"));
+        }
+
+        // Una sola consulta IN para todos los ids, se responde cada id en el orden pedido
+        return repository.findExistingIds(ids)
+                .collect(Collectors.toSet())
+                .map(existentes -> {
+                    Map<Long, Boolean> result = new LinkedHashMap<>();
+                    ids.forEach(id -> result.put(id, existentes.contains(id)));
+                    return result;
+                });
     }
     @Override
     public Mono<Tecnologia> create(Tecnologia tecnologia) {
@@ -36,11 +132,77 @@ public class TecnologiaService implements TecnologiaUseCases {
             return Mono.error(new ValidationException("nombre", "El nombre de la tecnología no puede estar vacío"));
         }
         
-        return repository.existsByNombre(tecnologia.getNombre())
-                .flatMap(exists -> exists
-                        ? Mono.error(new ValidationException("nombre", "El nombre de la tecnología ya existe"))
-                        : repository.save(tecnologia));
+        // El índice único sobre el nombre normalizado rechaza el duplicado, sin consulta previa
+        return repository.save(tecnologia)
+                .onErrorMap(DuplicateKeyException.class, TecnologiaService::nombreDuplicado)
+                .doOnNext(catalog::put)
+                .doOnNext(changes::created);
+    }
+
+    /**
+     * Crea varias tecnologías con una consulta IN para los nombres existentes y un INSERT multi-fila.
+     * Los nombres se guardan sin espacios en los extremos y se comparan sin distinguir mayúsculas, como el índice único;
+     * los repetidos, en la base de datos o dentro del mismo lote, se reportan como DUPLICATE.
+     * El catálogo y el feed de cambios se actualizan después del commit, no dentro de la transacción.
+     */
+    @Override
+    public Flux<TecnologiaBatchItem> createAll(List<Tecnologia> tecnologias) {
+        if (tecnologias == null || tecnologias.isEmpty()) {
+            return Flux.error(new ValidationException("tecnologias", "La lista de tecnologías no puede estar vacía"));
+        }
+        if (tecnologias.size() > MAX_BATCH_SIZE) {
+            return Flux.error(new ValidationException("tecnologias", "No se pueden crear más de " + MAX_BATCH_SIZE + " tecnologías por lote"));
+        }
+        if (tecnologias.stream().anyMatch(t -> t.getNombre() == null || t.getNombre().trim().isEmpty())) {
+            return Flux.error(new ValidationException("nombre", "El nombre de la tecnología no puede estar vacío"));
+        }
+
+        tecnologias.forEach(t -> t.setNombre(t.getNombre().trim()));
+        List<String> nombres = tecnologias.stream().map(Tecnologia::getNombre).distinct().toList();
+        return repository.findByNombres(nombres)
+                .collectMap(t -> nombreKey(t.getNombre()))
+                .flatMap(existentes -> {
+                    // Solo la primera aparición de cada nombre nuevo se inserta
+                    Set<String> vistos = new HashSet<>(existentes.keySet());
+                    List<Tecnologia> nuevas = new ArrayList<>();
+                    boolean[] creada = new boolean[tecnologias.size()];
+                    for (int i = 0; i < tecnologias.size(); i++) {
+                        if (vistos.add(nombreKey(tecnologias.get(i).getNombre()))) {
+                            nuevas.add(tecnologias.get(i));
+                            creada[i] = true;
+                        }
+                    }
+
+                    return repository.insertAll(nuevas)
+                            // Un alta concurrente con el mismo nombre entre la consulta y el INSERT
+                            .onErrorMap(DuplicateKeyException.class, TecnologiaService::nombreDuplicado)
+                            // El INSERT multi-fila no devuelve los ids, se leen por nombre
+                            .thenMany(repository.findByNombres(nuevas.stream().map(Tecnologia::getNombre).toList()))
+                            .collectMap(t -> nombreKey(t.getNombre()))
+                            .map(creadas -> {
+                                List<TecnologiaBatchItem> items = new ArrayList<>(tecnologias.size());
+                                for (int i = 0; i < tecnologias.size(); i++) {
+                                    String nombre = tecnologias.get(i).getNombre();
+                                    String key = nombreKey(nombre);
+                                    items.add(creada[i]
+                                            ? new TecnologiaBatchItem(nombre, TecnologiaBatchItem.Status.CREATED, creadas.get(key))
+                                            : new TecnologiaBatchItem(nombre, TecnologiaBatchItem.Status.DUPLICATE,
+                                                    existentes.getOrDefault(key, creadas.get(key))));
+                                }
+                                return items;
+                            });
+                })
+                .as(transactionalOperator::transactional)
+                .doOnNext(items -> items.stream()
+                        .filter(item -> item.status() == TecnologiaBatchItem.Status.CREATED)
+                        .map(TecnologiaBatchItem::tecnologia)
+                        .forEach(creada -> {
+                            catalog.put(creada);
+                            changes.created(creada);
+                        }))
+                .flatMapIterable(items -> items);
     }
+
     @Override
     public Mono<Tecnologia> updateParcial(Long id, Tecnologia changes) {
         return repository.findById(id)
@@ -55,8 +217,16 @@ public class TecnologiaService implements TecnologiaUseCases {
                     if (changes.getDescripcion() != null) {
                         original.setDescripcion(changes.getDescripcion());
                     }
-                    return repository.save(original);
-                });
+                    if (changes.getTags() != null) {
+                        // Un texto vacío quita todas las etiquetas
+                        original.setTags(changes.getTags().isEmpty() ? null : changes.getTags());
+                    }
+                    return repository.save(original)
+                            .onErrorMap(DuplicateKeyException.class, TecnologiaService::nombreDuplicado);
+                })
+                .doOnNext(catalog::put)
+                .doOnNext(saved -> capacidadVersions.bumpTecnologias())
+                .doOnNext(this.changes::updated);
     }
 
     @Override
@@ -64,15 +234,116 @@ public class TecnologiaService implements TecnologiaUseCases {
         if (nombre == null || nombre.trim().isEmpty()) {
             return Mono.error(new ValidationException("nombre", "El nombre no puede estar vacío"));
         }
-        return repository.findByNombre(nombre)
+        Mono<Tecnologia> tecnologia = catalog.isLoaded()
+                ? Mono.justOrEmpty(catalog.findByNombre(nombre))
+                : repository.findByNombre(nombre);
+        return tecnologia
                 .switchIfEmpty(Mono.error(new TecnologiaNotFoundException("No se encontró tecnología con el nombre: " + nombre)));
     }
 
+    @Override
+    public Flux<Tecnologia> searchByPrefix(String prefix, Integer limit) {
+        if (prefix == null) {
+            return Flux.error(new ValidationException("prefix", "El prefijo es obligatorio"));
+        }
+        int searchLimit = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (searchLimit < 1 || searchLimit > MAX_SEARCH_LIMIT) {
+            return Flux.error(new ValidationException("limit", "El límite debe estar entre 1 y " + MAX_SEARCH_LIMIT));
+        }
+        return Flux.fromIterable(catalog.searchByPrefix(prefix, searchLimit));
+    }
+
+    /**
+     * mode=all exige todas las etiquetas y mode=any alguna; con el catálogo cargado se resuelve con sus BitSet
+     */
+    @Override
+    public Flux<Tecnologia> findByTags(List<String> tags, String mode) {
+        return Flux.defer(() -> {
+            List<String> normalizadas = TecnologiaTags.normalize(tags == null ? List.of() : tags);
+            if (normalizadas.isEmpty()) {
+                return Flux.error(new ValidationException("tags", "Se requiere al menos una etiqueta"));
+            }
+            if (mode != null && !mode.equalsIgnoreCase("all") && !mode.equalsIgnoreCase("any")) {
+                return Flux.error(new ValidationException("mode", "El modo debe ser all o any"));
+            }
+            boolean matchAll = mode == null || mode.equalsIgnoreCase("all");
+
+            if (catalog.isLoaded()) {
+                return Flux.fromIterable(catalog.findByTags(normalizadas, matchAll));
+            }
+            return repository.findAll()
+                    .filter(tecnologia -> {
+                        List<String> propias = TecnologiaTags.split(tecnologia.getTags());
+                        return matchAll
+                                ? propias.containsAll(normalizadas)
+                                : normalizadas.stream().anyMatch(propias::contains);
+                    });
+        });
+    }
+
     @Override
     public Mono<Void> delete(Long id) { 
         return repository.findById(id)
                 .switchIfEmpty(Mono.error(new TecnologiaNotFoundException(id)))
-                .then(repository.deleteById(id));
+                .then(repository.deleteById(id))
+                .then(Mono.fromRunnable(() -> {
+                    catalog.remove(id);
+                    index.removeTecnologias(List.of(id));
+                    capacidadVersions.bumpTecnologias();
+                    changes.deleted(id);
+                }));
+    }
+
+    /**
+     * Borra varias tecnologías con sentencias IN en una sola transacción: enlaces, conteo de usos y tecnologías.
+     * Devuelve los ids que existían; los inexistentes se ignoran. Catálogo, índice y feed se actualizan
+     * después del commit. El tech_count de las capacidades afectadas lo corrige su reconciliador en capacidades.
+     */
+    @Override
+    public Mono<List<Long>> deleteAll(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Mono.error(new ValidationException("ids", "La lista de IDs de tecnologías no puede estar vacía"));
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return Mono.error(new ValidationException("ids", "No se pueden borrar más de " + MAX_BATCH_SIZE + " tecnologías a la vez"));
+        }
+
+        return repository.findExistingIds(ids)
+                .collectList()
+                .flatMap(existentes -> existentes.isEmpty()
+                        ? Mono.just(existentes)
+                        : capacidadTecnologiaRepository.deleteByTecnologiasIds(existentes)
+                                .then(capacidadTecnologiaRepository.deleteUsage(existentes))
+                                .then(repository.deleteAllById(existentes))
+                                .thenReturn(existentes))
+                .as(transactionalOperator::transactional)
+                .doOnNext(borradas -> {
+                    if (!borradas.isEmpty()) {
+                        catalog.removeAll(borradas);
+                        index.removeTecnologias(borradas);
+                        capacidadVersions.bumpTecnologias();
+                        borradas.forEach(changes::deleted);
+                    }
+                });
+    }
+
+    @Override
+    public Flux<TecnologiaChange> changesSince(Long since) {
+        if (since != null && since < 0) {
+            return Flux.error(new ValidationException("since", "El seq inicial no puede ser negativo"));
+        }
+        return changes.changesSince(since);
+    }
+
+    private static ValidationException nombreDuplicado(DuplicateKeyException e) {
+        return new ValidationException("nombre", "El nombre de la tecnología ya existe");
+    }
+
+    /**
+     * Clave de comparación de nombres, sin distinguir mayúsculas como la collation de la tabla
+     */
+    private static String nombreKey(String nombre) {
+        return nombre.trim().toLowerCase(Locale.ROOT);
     }
 
     private Tecnologia setId(Tecnologia t, Long id) {
@@ -0,0 +1,63 @@
+package gabs.tecnologias.application.stats;
+
+import gabs.tecnologias.domain.model.TecnologiaUso;
+import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Ranking precalculado de las tecnologías más usadas.
+ * Un proceso programado lo recalcula con una sola consulta; las peticiones solo leen el último resultado.
+ */
+@Component
+public class TecnologiaTopUsage {
+
+    private static final Logger logger = LoggerFactory.getLogger(TecnologiaTopUsage.class);
+
+    private final CapacidadTecnologiaRepositoryPort repository;
+    private final int size;
+    private volatile Ranking ranking = new Ranking(Instant.EPOCH, List.of());
+
+    public TecnologiaTopUsage(CapacidadTecnologiaRepositoryPort repository,
+                              @Value("${tecnologias.stats.top-size:100}") int size) {
+        this.repository = repository;
+        this.size = size;
+    }
+
+    @Scheduled(initialDelayString = "${tecnologias.stats.initial-delay-ms:5000}",
+            fixedDelayString = "${tecnologias.stats.refresh-ms:60000}")
+    public Mono<Void> refresh() {
+        return repository.findTopUsed(size)
+                .collectList()
+                .doOnNext(items -> ranking = new Ranking(Instant.now(), List.copyOf(items)))
+                .doOnError(error -> logger.error("No se pudo recalcular el ranking de tecnologías", error))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * Las primeras n tecnologías del último cálculo; vacío hasta que termina el primero
+     */
+    public List<TecnologiaUso> top(int n) {
+        List<TecnologiaUso> items = ranking.items();
+        return items.subList(0, Math.min(n, items.size()));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Instant computedAt() {
+        return ranking.computedAt();
+    }
+
+    private record Ranking(Instant computedAt, List<TecnologiaUso> items) {
+    }
+}
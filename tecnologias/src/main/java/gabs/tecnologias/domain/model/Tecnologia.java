@@ -25,4 +25,10 @@ public class Tecnologia {
     @Size(max = 90)
     private String descripcion;
 
+    /**
+     * Etiquetas normalizadas separadas por coma, ver {@link TecnologiaTags}
+     */
+    @Size(max = 255)
+    private String tags;
+
 }
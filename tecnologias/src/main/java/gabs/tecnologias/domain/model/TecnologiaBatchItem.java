@@ -0,0 +1,12 @@
+package gabs.tecnologias.domain.model;
+
+/**
+ * Resultado de un elemento de la creación masiva: la tecnología creada o la que ya existía con ese nombre
+ */
+public record TecnologiaBatchItem(String nombre, Status status, Tecnologia tecnologia) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE
+    }
+}
@@ -0,0 +1,20 @@
+package gabs.tecnologias.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Column;
+
+/**
+ * Proyección de lectura: una tecnología junto a la capacidad que la usa
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TecnologiaCapacidad {
+
+    @Column("capacidad_id")
+    private Long capacidadId;
+    private Long id;
+    private String nombre;
+}
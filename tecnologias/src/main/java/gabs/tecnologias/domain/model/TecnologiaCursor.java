@@ -0,0 +1,32 @@
+package gabs.tecnologias.domain.model;
+
+import gabs.tecnologias.domain.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición de una página de tecnologías: la última fila entregada, por (nombre, id).
+ * Viaja al cliente como un texto opaco en Base64.
+ */
+public record TecnologiaCursor(String nombre, Long id) {
+
+    public static TecnologiaCursor of(Tecnologia tecnologia) {
+        return new TecnologiaCursor(tecnologia.getNombre(), tecnologia.getId());
+    }
+
+    public String encode() {
+        String raw = id + ":" + nombre;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TecnologiaCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new TecnologiaCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new ValidationException("cursor", "El cursor no es válido");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package gabs.tecnologias.domain.model;
+
+import java.util.List;
+
+/**
+ * Página de tecnologías con el cursor de la siguiente, nulo si es la última
+ */
+public record TecnologiaPage(List<Tecnologia> items, String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package gabs.tecnologias.domain.model;
+
+import java.util.List;
+
+/**
+ * Foto completa del catálogo y de los enlaces con capacidades.
+ * La versión es el último seq del feed de cambios al tomar la foto: desde ahí se puede seguir con /changes.
+ */
+public record TecnologiaSnapshot(long version, List<Tecnologia> tecnologias, List<CapacidadTecnologia> links) {
+}
@@ -0,0 +1,59 @@
+package gabs.tecnologias.domain.model;
+
+import gabs.tecnologias.domain.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Etiquetas de una tecnología. Se guardan en una sola columna, en minúsculas, ordenadas,
+ * sin repetir y separadas por coma, así la columna es comparable y se parte sin ambigüedad.
+ */
+public final class TecnologiaTags {
+
+    public static final int MAX_TAGS = 10;
+    public static final int MAX_TAG_LENGTH = 20;
+
+    private TecnologiaTags() {
+    }
+
+    /**
+     * Normaliza las etiquetas recibidas; una lista vacía da un texto vacío (sin etiquetas)
+     */
+    public static String join(Collection<String> tags) {
+        List<String> normalizadas = normalize(tags);
+        if (normalizadas.size() > MAX_TAGS) {
+            throw new ValidationException("tags", "No se permiten más de " + MAX_TAGS + " etiquetas");
+        }
+        return String.join(",", normalizadas);
+    }
+
+    public static List<String> split(String tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(tags.split(","));
+    }
+
+    /**
+     * Minúsculas, sin espacios en los extremos, sin vacías ni repetidas, en orden alfabético
+     */
+    public static List<String> normalize(Collection<String> tags) {
+        return tags.stream()
+                .map(tag -> tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT))
+                .filter(tag -> !tag.isEmpty())
+                .peek(TecnologiaTags::validate)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    private static void validate(String tag) {
+        if (tag.length() > MAX_TAG_LENGTH || tag.contains(",")) {
+            throw new ValidationException("tags",
+                    "Cada etiqueta debe tener hasta " + MAX_TAG_LENGTH + " caracteres y no puede contener comas");
+        }
+    }
+}
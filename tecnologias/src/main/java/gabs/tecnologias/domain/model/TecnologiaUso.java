@@ -0,0 +1,18 @@
+package gabs.tecnologias.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Proyección de lectura: una tecnología y la cantidad de capacidades que la usan
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TecnologiaUso {
+
+    private Long id;
+    private String nombre;
+    private Long capacidades;
+}
@@ -1,6 +1,8 @@
 package gabs.tecnologias.domain.port;
 
 import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.model.TecnologiaCapacidad;
+import gabs.tecnologias.domain.model.TecnologiaUso;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -8,7 +10,18 @@ import java.util.List;
 
 public interface CapacidadTecnologiaRepositoryPort {
     Flux<CapacidadTecnologia> findByCapacidadId(Long capacidadId);
+    Flux<CapacidadTecnologia> findAllLinks();
+    Flux<TecnologiaCapacidad> findTecnologiasByCapacidadId(Long capacidadId);
+    Flux<TecnologiaCapacidad> findTecnologiasByCapacidadesIds(List<Long> capacidadesIds);
     Mono<CapacidadTecnologia> save(CapacidadTecnologia capacidadTecnologia);
+    Flux<CapacidadTecnologia> insertAll(List<CapacidadTecnologia> capacidadesTecnologia);
+    // Ids de tecnologías que existen, bloqueados hasta el commit para que no se borren antes del INSERT
+    Flux<Long> lockExistingTecnologias(List<Long> tecnologiaIds);
     Flux<Long> findExclusiveTechsByCapacidadesIds(List<Long> capacidadesId);
     Mono<Void> deleteByCapacidadesIds(List<Long> capacidadesIds);
+    Mono<Void> deleteByTecnologiasIds(List<Long> tecnologiaIds);
+    Mono<Void> incrementUsage(List<Long> tecnologiaIds);
+    Mono<Void> decrementUsageByCapacidadesIds(List<Long> capacidadesIds);
+    Mono<Void> deleteUsage(List<Long> tecnologiaIds);
+    Flux<TecnologiaUso> findTopUsed(int limit);
 }
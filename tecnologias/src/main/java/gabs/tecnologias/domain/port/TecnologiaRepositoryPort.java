@@ -1,17 +1,25 @@
 package gabs.tecnologias.domain.port;
 
 import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaCursor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface TecnologiaRepositoryPort {
 
     Flux<Tecnologia> findAll();
+    Flux<Tecnologia> findPage(TecnologiaCursor after, int limit, boolean descending);
     Mono<Tecnologia> findById(Long id);
     Mono<Tecnologia> findByNombre(String nombre);
     Mono<Boolean> existsByNombre(String nombre);
     Mono<Boolean> existsById(Long id);
+    Flux<Long> findExistingIds(List<Long> ids);
+    // Compara sin espacios en los extremos y sin distinguir mayúsculas, como el índice único de nombre
+    Flux<Tecnologia> findByNombres(List<String> nombres);
     Mono<Tecnologia> save(Tecnologia tecnologia);
+    Mono<Void> insertAll(List<Tecnologia> tecnologias);
     Mono<Void> deleteById(Long id);
     Mono<Void> deleteAllById(Iterable<Long> ids);
 }
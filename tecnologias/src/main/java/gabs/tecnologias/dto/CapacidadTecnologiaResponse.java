@@ -14,7 +14,7 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Respuesta de capacidad de tecnología", example = """
         {
             "id": 1,
-            "nombre": "Java",
+            "nombre": "Java"
         }
         """)
 public class CapacidadTecnologiaResponse {
@@ -23,6 +23,6 @@ public class CapacidadTecnologiaResponse {
     @Schema(description = "ID de la tecnología", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
     private Long id;
 
-        @Schema(description = "Información de la tecnología asociada")
-        private TecnologiaResponse tecnologia;
+    @Schema(description = "Nombre de la tecnología", example = "Java")
+    private String nombre;
 }
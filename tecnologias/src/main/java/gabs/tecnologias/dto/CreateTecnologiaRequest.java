@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * DTO de petición para crear una nueva tecnología
  */
@@ -16,7 +18,8 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Petición para crear una nueva tecnología", example = """
         {
           "nombre": "Spring Boot",
-          "descripcion": "Framework para crear aplicaciones Spring independientes"
+          "descripcion": "Framework para crear aplicaciones Spring independientes",
+          "tags": ["framework", "java"]
         }
         """)
 public class CreateTecnologiaRequest {
@@ -29,4 +32,8 @@ public class CreateTecnologiaRequest {
     @Size(max = 500, message = "La descripción no puede exceder los 500 caracteres")
     @Schema(description = "Descripción de la tecnología", example = "Framework para crear aplicaciones Spring independientes")
     private String descripcion;
-}
\ No newline at end of file
+
+    @Size(max = 10, message = "No se permiten más de 10 etiquetas")
+    @Schema(description = "Etiquetas de la tecnología (lenguaje, framework, base de datos...)", example = "[\"framework\", \"java\"]")
+    private List<String> tags;
+}
@@ -14,7 +14,6 @@ import java.util.List;
  * DTO de respuesta de error estandarizada
  */
 @Data
-@NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Respuesta de error", example = """
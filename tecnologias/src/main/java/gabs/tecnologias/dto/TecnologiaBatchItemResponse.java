@@ -0,0 +1,31 @@
+package gabs.tecnologias.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de respuesta para un elemento de la creación masiva
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de un elemento del lote", example = """
+        {
+          "nombre": "Java",
+          "status": "CREATED",
+          "tecnologia": { "id": 1, "nombre": "Java", "descripcion": "Lenguaje de programación" }
+        }
+        """)
+public class TecnologiaBatchItemResponse {
+
+    @Schema(description = "Nombre enviado en la petición", example = "Java")
+    private String nombre;
+
+    @Schema(description = "CREATED si se creó, DUPLICATE si el nombre ya existía o se repite en el lote", example = "CREATED")
+    private String status;
+
+    @Schema(description = "Tecnología creada o la existente con ese nombre")
+    private TecnologiaResponse tecnologia;
+}
@@ -0,0 +1,27 @@
+package gabs.tecnologias.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para la creación masiva de tecnologías
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de la creación masiva, en el mismo orden de la petición")
+public class TecnologiaBatchResponse {
+
+    @Schema(description = "Cantidad de tecnologías creadas", example = "2")
+    private int created;
+
+    @Schema(description = "Cantidad de elementos duplicados", example = "1")
+    private int duplicates;
+
+    @Schema(description = "Resultado de cada elemento")
+    private List<TecnologiaBatchItemResponse> items;
+}
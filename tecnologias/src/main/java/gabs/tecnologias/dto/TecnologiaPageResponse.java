@@ -0,0 +1,31 @@
+package gabs.tecnologias.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para una página de tecnologías
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de tecnologías ordenada por nombre e id", example = """
+        {
+          "items": [
+            { "id": 1, "nombre": "Java", "descripcion": "Lenguaje de programación" }
+          ],
+          "nextCursor": "MTpKYXZh"
+        }
+        """)
+public class TecnologiaPageResponse {
+
+    @Schema(description = "Tecnologías de la página")
+    private List<TecnologiaResponse> items;
+
+    @Schema(description = "Cursor opaco para pedir la página siguiente; nulo si no hay más", example = "MTpKYXZh")
+    private String nextCursor;
+}
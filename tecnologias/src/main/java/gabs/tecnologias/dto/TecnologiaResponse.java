@@ -0,0 +1,37 @@
+package gabs.tecnologias.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para Tecnologia
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Respuesta de tecnología", example = """
+        {
+          "id": 1,
+          "nombre": "Spring Boot",
+          "descripcion": "Framework para crear aplicaciones Spring independientes",
+          "tags": ["framework", "java"]
+        }
+        """)
+public class TecnologiaResponse {
+
+    @Schema(description = "ID de la tecnología", example = "1")
+    private Long id;
+
+    @Schema(description = "Nombre de la tecnología", example = "Spring Boot")
+    private String nombre;
+
+    @Schema(description = "Descripción de la tecnología", example = "Framework para crear aplicaciones Spring independientes")
+    private String descripcion;
+
+    @Schema(description = "Etiquetas de la tecnología", example = "[\"framework\", \"java\"]")
+    private List<String> tags;
+}
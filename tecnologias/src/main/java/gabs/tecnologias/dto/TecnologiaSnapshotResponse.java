@@ -0,0 +1,61 @@
+package gabs.tecnologias.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO compacto del catálogo completo: columnas paralelas en lugar de objetos y los ids codificados
+ * como diferencias con el anterior (el primero va completo)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Foto compacta del catálogo y de los enlaces con capacidades", example = """
+        {
+          "format": 2,
+          "version": 42,
+          "tecnologiaIds": [1, 1, 3],
+          "nombres": ["Java", "Spring Boot", "MySQL"],
+          "descripciones": ["Lenguaje", "Framework", "Base de datos"],
+          "tags": ["java,language", "java,framework", null],
+          "capacidadIds": [10, 1],
+          "tecnologiasPorCapacidad": [2, 1],
+          "capacidadTecnologiaIds": [1, 1, 5]
+        }
+        """)
+public class TecnologiaSnapshotResponse {
+
+    // 2: se agregó la columna tags
+    public static final int FORMAT = 2;
+
+    @Schema(description = "Versión del formato del payload", example = "2")
+    private int format;
+
+    @Schema(description = "Seq del feed de cambios al tomar la foto; se puede seguir con /technology/changes?since=", example = "42")
+    private long version;
+
+    @Schema(description = "Ids de tecnologías ordenados, codificados como diferencias")
+    private long[] tecnologiaIds;
+
+    @Schema(description = "Nombre de cada tecnología, en el mismo orden que tecnologiaIds")
+    private List<String> nombres;
+
+    @Schema(description = "Descripción de cada tecnología, en el mismo orden que tecnologiaIds")
+    private List<String> descripciones;
+
+    @Schema(description = "Etiquetas de cada tecnología separadas por comas (null si no tiene), en el mismo orden que tecnologiaIds")
+    private List<String> tags;
+
+    @Schema(description = "Ids de capacidades con enlaces, ordenados y codificados como diferencias")
+    private long[] capacidadIds;
+
+    @Schema(description = "Cantidad de tecnologías de cada capacidad, en el mismo orden que capacidadIds")
+    private int[] tecnologiasPorCapacidad;
+
+    @Schema(description = "Ids de tecnologías de cada capacidad, uno tras otro; las diferencias se reinician en cada capacidad")
+    private long[] capacidadTecnologiaIds;
+}
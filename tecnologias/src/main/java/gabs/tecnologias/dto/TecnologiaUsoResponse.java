@@ -0,0 +1,31 @@
+package gabs.tecnologias.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de respuesta para el ranking de tecnologías más usadas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tecnología y cantidad de capacidades que la usan", example = """
+        {
+          "id": 1,
+          "nombre": "Java",
+          "capacidades": 12
+        }
+        """)
+public class TecnologiaUsoResponse {
+
+    @Schema(description = "ID de la tecnología", example = "1")
+    private Long id;
+
+    @Schema(description = "Nombre de la tecnología", example = "Java")
+    private String nombre;
+
+    @Schema(description = "Cantidad de capacidades que usan la tecnología", example = "12")
+    private Long capacidades;
+}
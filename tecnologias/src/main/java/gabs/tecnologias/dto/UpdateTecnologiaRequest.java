@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * DTO de petición para actualizar una tecnología existente
  */
@@ -15,7 +17,8 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Petición para actualizar una tecnología", example = """
         {
           "nombre": "Spring Boot 3.0",
-          "descripcion": "Framework actualizado para crear aplicaciones Spring independientes"
+          "descripcion": "Framework actualizado para crear aplicaciones Spring independientes",
+          "tags": ["framework", "java"]
         }
         """)
 public class UpdateTecnologiaRequest {
@@ -27,4 +30,8 @@ public class UpdateTecnologiaRequest {
     @Size(max = 500, message = "La descripción no puede exceder los 500 caracteres")
     @Schema(description = "Descripción de la tecnología", example = "Framework actualizado para crear aplicaciones Spring independientes")
     private String descripcion;
-}
\ No newline at end of file
+
+    @Size(max = 10, message = "No se permiten más de 10 etiquetas")
+    @Schema(description = "Etiquetas nuevas; reemplazan a las anteriores y una lista vacía las quita", example = "[\"framework\", \"java\"]")
+    private List<String> tags;
+}
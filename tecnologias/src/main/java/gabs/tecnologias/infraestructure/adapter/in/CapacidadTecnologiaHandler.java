@@ -1,8 +1,14 @@
 package gabs.tecnologias.infraestructure.adapter.in;
 
+import gabs.tecnologias.application.batch.CapacidadTecnologiaBatchWriter;
+import gabs.tecnologias.application.catalog.CapacidadTecnologiaIndex;
+import gabs.tecnologias.application.catalog.CapacidadVersions;
 import gabs.tecnologias.application.port.CapacidadTecnologiaUseCases;
 import gabs.tecnologias.dto.CapacidadTecnologiaResponse;
 import gabs.tecnologias.dto.RegisterCapacidadTecnologiaRequest;
+import gabs.tecnologias.dto.TecnologiaSnapshotResponse;
+import gabs.tecnologias.dto.TecnologiaUsoResponse;
+import gabs.tecnologias.infraestructure.cache.ResponseCaches;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,6 +17,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BeanPropertyBindingResult;
@@ -23,6 +31,8 @@ import reactor.core.publisher.Mono;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+
 
 @Component
 @RequiredArgsConstructor
@@ -31,25 +41,159 @@ public class CapacidadTecnologiaHandler {
 
     private final CapacidadTecnologiaUseCases capService;
     private final Validator validator;
+    private final CapacidadVersions versions;
+    private final TecnologiaSnapshotEncoder snapshotEncoder;
+    private final ResponseCaches responseCaches;
+    private final CapacidadTecnologiaIndex index;
+    private final CapacidadTecnologiaBatchWriter batchWriter;
 
     @Operation(
             summary = "Obtener tecnologías por capacidad",
-            description = "Retorna todas las tecnologías asociadas a una capacidad específica"
+            description = "Retorna todas las tecnologías asociadas a una capacidad específica. " +
+                    "Incluye un ETag; con If-None-Match vigente responde 304 sin consultar la base de datos. " +
+                    "Las versiones son de la instancia, por eso el servicio corre con una sola"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de tecnologías obtenida exitosamente",
                     content = @Content(mediaType = "application/json", 
                             schema = @Schema(implementation = CapacidadTecnologiaResponse.class))),
+            @ApiResponse(responseCode = "304", description = "La lista no cambió desde el ETag enviado"),
             @ApiResponse(responseCode = "404", description = "Capacidad no encontrada"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     public Mono<ServerResponse> getTechsByCapacidadId(ServerRequest request) {
         Long id = Long.valueOf(request.pathVariable("id"));
-        Flux<CapacidadTecnologiaResponse> techList = capService.getTechnologiesListByCapacidad(id);
+        // La versión se lee antes del JOIN: si cambia mientras tanto, el cliente solo vuelve a descargar
+        String etag = versions.etag(id);
+        if (matchesEtag(request, etag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        // Con el mismo ETag los bytes guardados siguen siendo válidos y no se ejecuta el JOIN
+        Mono<byte[]> json = responseCaches.capacidades().get(id, etag)
+                .map(Mono::just)
+                .orElseGet(() -> capService.getTechnologiesListByCapacidad(id)
+                        .collectList()
+                        .map(list -> responseCaches.capacidades().put(id, etag, responseCaches.encode(list))));
+
+        return json.flatMap(bytes -> ServerResponse.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bytes));
+    }
+
+    @Operation(
+            summary = "Obtener tecnologías de varias capacidades",
+            description = "Retorna, en una sola consulta, un mapa de ID de capacidad a sus tecnologías (ids=1,2,3)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Mapa de tecnologías por capacidad obtenido exitosamente",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "IDs de capacidades inválidos"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> getTechsByCapacidadesIds(ServerRequest request) {
+        return Mono.fromSupplier(() -> RequestParams.ids(request))
+                .flatMap(capService::getTechnologiesListByCapacidades)
+                .flatMap(result -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(result));
+    }
+
+    @Operation(
+            summary = "Foto compacta del catálogo",
+            description = "Todas las tecnologías y los enlaces con capacidades en un solo payload JSON, " +
+                    "con ids codificados como diferencias. Se comprime con gzip si el cliente lo acepta (Accept-Encoding). " +
+                    "La versión permite seguir con /technology/changes?since="
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Foto del catálogo (Content-Encoding: gzip si se pidió)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TecnologiaSnapshotResponse.class))),
+            @ApiResponse(responseCode = "304", description = "La foto no cambió desde el ETag enviado"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> getSnapshot(ServerRequest request) {
+        long version = capService.snapshotVersion();
+        String etag = snapshotEncoder.etag(version);
+        if (matchesEtag(request, etag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        boolean gzip = acceptsGzip(request.headers().header(HttpHeaders.ACCEPT_ENCODING));
+        return snapshotEncoder.encoded(version, capService::snapshot)
+                .flatMap(encoded -> {
+                    ServerResponse.BodyBuilder response = ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                            .eTag(encoded.etag());
+                    return gzip
+                            ? response.header(HttpHeaders.CONTENT_ENCODING, "gzip").bodyValue(encoded.gzip())
+                            : response.bodyValue(encoded.json());
+                });
+    }
+
+    /**
+     * True si algún valor de Accept-Encoding admite gzip (gzip, x-gzip o *) sin q=0
+     */
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        return acceptEncoding.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(coding -> coding.trim().toLowerCase(Locale.ROOT).split(";"))
+                .filter(parts -> parts[0].trim().equals("gzip") || parts[0].trim().equals("x-gzip") || parts[0].trim().equals("*"))
+                .anyMatch(parts -> Arrays.stream(parts).skip(1)
+                        .map(String::trim)
+                        .noneMatch(param -> param.matches("q\\s*=\\s*0(\\.0*)?")));
+    }
 
+    @Operation(
+            summary = "Tecnologías más usadas",
+            description = "Las n tecnologías usadas por más capacidades (parámetro n). " +
+                    "Se calcula periódicamente en segundo plano; la respuesta sale del último cálculo"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranking obtenido exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TecnologiaUsoResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Valor de n inválido"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> getTopUsed(ServerRequest request) {
+        return Flux.defer(() -> capService.findTopUsed(RequestParams.optionalInteger(request, "n")))
+                .map(uso -> new TecnologiaUsoResponse(uso.getId(), uso.getNombre(), uso.getCapacidades()))
+                .collectList()
+                .flatMap(result -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(result));
+    }
+
+    @Operation(
+            summary = "Estadísticas del índice de enlaces",
+            description = "Enlaces, capacidades y memoria del índice capacidad-tecnología en memoria"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Mono<ServerResponse> indexStats(ServerRequest request) {
         return ServerResponse.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(techList, CapacidadTecnologiaResponse.class);
+                .bodyValue(index.stats());
+    }
+
+    @Operation(
+            summary = "Estadísticas de escritura de enlaces",
+            description = "Lotes, pedidos y filas del agrupamiento de registros de enlaces: tamaño promedio, " +
+                    "lote más grande y pedidos reintentados por separado"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Mono<ServerResponse> writeStats(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batchWriter.stats());
     }
 
         @Operation(
@@ -70,6 +214,8 @@ public class CapacidadTecnologiaHandler {
         return request.bodyToMono(RegisterCapacidadTecnologiaRequest.class)
                 .flatMap(this::validateRegisterRequest)
                 .flatMap(registerRequest -> capService.register(capacidadId, registerRequest.getTecnologiaIds()).then(Mono.empty()))
+                // Se versiona después del commit, así ningún ETag nuevo queda asociado a datos viejos
+                .then(Mono.fromRunnable(() -> versions.bump(capacidadId)))
                 .then(ServerResponse.ok().build());
     }
 
@@ -83,18 +229,18 @@ public class CapacidadTecnologiaHandler {
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     public Mono<ServerResponse> deleteTecnologiasOfCapacidadesIds(ServerRequest request) {
-        List<Long> ids = request.queryParams().getOrDefault("ids", List.of())
-                .stream()
-                .flatMap(idsStr -> Arrays.stream(idsStr.split(",")))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .map(Long::valueOf)
-                .toList();
-
-        return capService.deleteCapacidadesByCapacidadesIds(ids)
+        return Mono.fromSupplier(() -> RequestParams.ids(request))
+                .flatMap(ids -> capService.deleteCapacidadesByCapacidadesIds(ids)
+                        .then(Mono.fromRunnable(() -> versions.bumpAll(ids))))
                 .then(ServerResponse.ok().build());
     }
-    
+
+    private boolean matchesEtag(ServerRequest request, String etag) {
+        return request.headers().asHttpHeaders().getIfNoneMatch().stream()
+                .map(String::trim)
+                .anyMatch(value -> value.equals(etag) || value.equals("W/" + etag));
+    }
+
     private Mono<RegisterCapacidadTecnologiaRequest> validateRegisterRequest(RegisterCapacidadTecnologiaRequest request) {
         Errors errors = new BeanPropertyBindingResult(request, "registerCapacidadTecnologiaRequest");
         validator.validate(request, errors);
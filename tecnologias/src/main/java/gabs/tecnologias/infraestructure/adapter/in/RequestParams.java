@@ -0,0 +1,65 @@
+package gabs.tecnologias.infraestructure.adapter.in;
+
+import gabs.tecnologias.domain.exception.ValidationException;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lectura de parámetros numéricos de la petición. Un valor mal formado es un error del cliente:
+ * se lanza {@link ValidationException} (400), así que hay que llamarlos dentro de la cadena reactiva.
+ */
+final class RequestParams {
+
+    private RequestParams() {
+    }
+
+    /**
+     * Lee el parámetro ids (separado por comas o repetido), sin repetidos
+     */
+    static List<Long> ids(ServerRequest request) {
+        return request.queryParams().getOrDefault("ids", List.of())
+                .stream()
+                .flatMap(idsStr -> Arrays.stream(idsStr.split(",")))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(id -> parseLong("ids", id))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Parámetro opcional; null si no viene
+     */
+    static Long optionalLong(ServerRequest request, String name) {
+        return request.queryParam(name).map(value -> parseLong(name, value)).orElse(null);
+    }
+
+    /**
+     * Parámetro opcional; null si no viene
+     */
+    static Integer optionalInteger(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .map(value -> {
+                    try {
+                        return Integer.valueOf(value.trim());
+                    } catch (NumberFormatException e) {
+                        throw invalidNumber(name, value);
+                    }
+                })
+                .orElse(null);
+    }
+
+    private static Long parseLong(String name, String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw invalidNumber(name, value);
+        }
+    }
+
+    private static ValidationException invalidNumber(String name, String value) {
+        return new ValidationException(name, "'" + value + "' no es un número válido");
+    }
+}
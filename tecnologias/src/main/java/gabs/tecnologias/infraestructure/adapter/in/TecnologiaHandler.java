@@ -1,10 +1,18 @@
 package gabs.tecnologias.infraestructure.adapter.in;
 
+import gabs.tecnologias.application.changes.TecnologiaChange;
 import gabs.tecnologias.application.port.TecnologiaUseCases;
+import gabs.tecnologias.domain.exception.ValidationException;
 import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaBatchItem;
+import gabs.tecnologias.domain.model.TecnologiaTags;
 import gabs.tecnologias.dto.CreateTecnologiaRequest;
+import gabs.tecnologias.dto.TecnologiaBatchItemResponse;
+import gabs.tecnologias.dto.TecnologiaBatchResponse;
+import gabs.tecnologias.dto.TecnologiaPageResponse;
 import gabs.tecnologias.dto.UpdateTecnologiaRequest;
 import gabs.tecnologias.dto.TecnologiaResponse;
+import gabs.tecnologias.infraestructure.cache.ResponseCaches;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,7 +21,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
@@ -23,6 +33,9 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 @Tag(name = "Tecnologías", description = "API para gestión de tecnologías")
@@ -30,6 +43,7 @@ public class TecnologiaHandler {
 
     private final TecnologiaUseCases service;
     private final Validator validator;
+    private final ResponseCaches responseCaches;
 
 
     @Operation(
@@ -43,6 +57,12 @@ public class TecnologiaHandler {
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     public Mono<ServerResponse> getAll(ServerRequest request) {
+        if (request.queryParam("tags").isPresent()) {
+            return getByTags(request);
+        }
+        if (isPagedRequest(request)) {
+            return getPage(request);
+        }
         Flux<TecnologiaResponse> all = service.findAll()
                 .map(this::mapToResponse);
         return ServerResponse.ok()
@@ -50,9 +70,77 @@ public class TecnologiaHandler {
                 .body(all, TecnologiaResponse.class);
     }
 
+    @Operation(
+            summary = "Filtrar tecnologías por etiquetas",
+            description = "Con tags=a,b retorna las tecnologías que tienen todas las etiquetas (mode=all, por defecto) " +
+                    "o alguna de ellas (mode=any). Se resuelve en memoria, sin consultar la base de datos; no se combina con la paginación"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tecnologías filtradas exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TecnologiaResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Etiquetas o modo inválidos"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> getByTags(ServerRequest request) {
+        return service.findByTags(tags(request), request.queryParam("mode").orElse(null))
+                .map(this::mapToResponse)
+                .collectList()
+                .flatMap(result -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(result));
+    }
+
+    @Operation(
+            summary = "Exportar el catálogo de tecnologías en streaming",
+            description = "Con Accept: application/x-ndjson envía una tecnología por línea a medida que se leen de la base de datos. " +
+                    "Con tags (y mode) aplica el mismo filtro por etiquetas que la consulta JSON"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catálogo enviado en streaming",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = TecnologiaResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Etiquetas o modo inválidos"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> streamAll(ServerRequest request) {
+        Flux<Tecnologia> tecnologias = request.queryParam("tags").isPresent()
+                ? service.findByTags(tags(request), request.queryParam("mode").orElse(null))
+                : service.streamAll();
+        Flux<TecnologiaResponse> all = tecnologias
+                .map(this::mapToResponse);
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(all, TecnologiaResponse.class);
+    }
+
+    @Operation(
+            summary = "Obtener una página de tecnologías",
+            description = "Paginación por cursor ordenada por nombre e id (parámetros cursor, limit y direction=asc|desc)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de tecnologías obtenida exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TecnologiaPageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor, límite o dirección inválidos"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> getPage(ServerRequest request) {
+        String cursor = request.queryParam("cursor").orElse(null);
+        String direction = request.queryParam("direction").orElse(null);
+
+        return Mono.defer(() -> service.findPage(cursor, RequestParams.optionalInteger(request, "limit"), direction))
+                .map(page -> new TecnologiaPageResponse(
+                        page.items().stream().map(this::mapToResponse).toList(),
+                        page.nextCursor()))
+                .flatMap(response -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response));
+    }
+
     @Operation(
             summary = "Obtener tecnología por ID",
-            description = "Retorna una tecnología específica por su ID"
+            description = "Retorna una tecnología específica por su ID. El JSON se guarda ya serializado mientras la tecnología no cambie"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tecnología encontrada exitosamente",
@@ -63,12 +151,14 @@ public class TecnologiaHandler {
     })
     public Mono<ServerResponse> getById(ServerRequest request) {
         Long id = Long.valueOf(request.pathVariable("id"));
-        Mono<TecnologiaResponse> tech = service.findById(id)
-                .map(this::mapToResponse);
-
-        return ServerResponse.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(tech, TecnologiaResponse.class);
+        // La tecnología leída es la marca de la entrada: si cambió, los bytes guardados no se usan
+        return service.findById(id)
+                .map(tecnologia -> responseCaches.tecnologias().get(id, tecnologia)
+                        .orElseGet(() -> responseCaches.tecnologias()
+                                .put(id, tecnologia, responseCaches.encode(mapToResponse(tecnologia)))))
+                .flatMap(json -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(json));
     }
     @Operation(
             summary = "Verificar existencia de tecnología",
@@ -88,6 +178,24 @@ public class TecnologiaHandler {
                 .body(techExists, Boolean.class);
     }
 
+    @Operation(
+            summary = "Verificar existencia de varias tecnologías",
+            description = "Verifica en una sola consulta si existen las tecnologías con los IDs especificados (ids=1,2,3)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Mapa de ID a existencia",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "IDs de tecnologías inválidos"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> existsByIds(ServerRequest request) {
+        return Mono.fromSupplier(() -> RequestParams.ids(request))
+                .flatMap(service::existsByIds)
+                .flatMap(result -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(result));
+    }
+
     @Operation(
             summary = "Buscar tecnología por nombre",
             description = "Busca una tecnología específica por su nombre exacto"
@@ -108,6 +216,72 @@ public class TecnologiaHandler {
                 .body(tecnologia, TecnologiaResponse.class);
     }
 
+    @Operation(
+            summary = "Autocompletar tecnologías por prefijo",
+            description = "Busca tecnologías cuyo nombre empieza por el prefijo, sin distinguir mayúsculas ni tildes (parámetros prefix y limit)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tecnologías encontradas",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TecnologiaResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Prefijo o límite inválidos"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> search(ServerRequest request) {
+        String prefix = request.queryParam("prefix").orElse(null);
+
+        return Flux.defer(() -> service.searchByPrefix(prefix, RequestParams.optionalInteger(request, "limit")))
+                .map(this::mapToResponse)
+                .collectList()
+                .flatMap(result -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(result));
+    }
+
+    @Operation(
+            summary = "Feed de cambios del catálogo",
+            description = "Server-Sent Events con altas, cambios y bajas de tecnologías y enlaces con capacidades. " +
+                    "Con since=<seq> retoma desde ese evento; si quedó fuera del buffer recibe RESYNC"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream de cambios",
+                    content = @Content(mediaType = "text/event-stream",
+                            schema = @Schema(implementation = TecnologiaChange.class))),
+            @ApiResponse(responseCode = "400", description = "Seq inicial inválido"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> changes(ServerRequest request) {
+        // Se valida antes de responder: un since inválido es un 400, no un stream 200 que falla
+        return Mono.defer(() -> {
+            Long since = RequestParams.optionalLong(request, "since");
+            if (since != null && since < 0) {
+                return Mono.error(new ValidationException("since", "El seq inicial no puede ser negativo"));
+            }
+            Flux<ServerSentEvent<TecnologiaChange>> events = service.changesSince(since)
+                    .map(change -> ServerSentEvent.builder(change)
+                            .id(String.valueOf(change.seq()))
+                            .event(change.type().name())
+                            .build());
+            return ServerResponse.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(events, new ParameterizedTypeReference<ServerSentEvent<TecnologiaChange>>() {});
+        });
+    }
+
+    @Operation(
+            summary = "Estadísticas de los caches de respuestas",
+            description = "Tamaño, bytes, aciertos, fallos y tasa de aciertos de los caches de JSON serializado"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Mono<ServerResponse> cacheStats(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(responseCaches.stats());
+    }
+
     @Operation(
             summary = "Crear nueva tecnología",
             description = "Crea una nueva tecnología con los datos proporcionados"
@@ -127,6 +301,7 @@ public class TecnologiaHandler {
                     Tecnologia tecnologia = new Tecnologia();
                     tecnologia.setNombre(createRequest.getNombre());
                     tecnologia.setDescripcion(createRequest.getDescripcion());
+                    tecnologia.setTags(toTags(createRequest.getTags()));
                     return service.create(tecnologia);
                 })
                 .map(this::mapToResponse)
@@ -134,6 +309,37 @@ public class TecnologiaHandler {
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(response));
     }
+
+    @Operation(
+            summary = "Crear tecnologías en lote",
+            description = "Recibe un arreglo de tecnologías; los nombres existentes se detectan con una sola consulta " +
+                    "y las nuevas se insertan con un único INSERT. Reporta el estado de cada elemento"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TecnologiaBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> saveAll(ServerRequest request) {
+        return request.bodyToFlux(CreateTecnologiaRequest.class)
+                .concatMap(this::validateCreateRequest)
+                .map(createRequest -> {
+                    Tecnologia tecnologia = new Tecnologia();
+                    tecnologia.setNombre(createRequest.getNombre());
+                    tecnologia.setDescripcion(createRequest.getDescripcion());
+                    tecnologia.setTags(toTags(createRequest.getTags()));
+                    return tecnologia;
+                })
+                .collectList()
+                .flatMap(tecnologias -> service.createAll(tecnologias).collectList())
+                .map(this::mapToBatchResponse)
+                .flatMap(response -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response));
+    }
+
     @Operation(
             summary = "Actualizar tecnología",
             description = "Actualiza una tecnología existente con los datos proporcionados"
@@ -155,6 +361,9 @@ public class TecnologiaHandler {
                     Tecnologia cambios = new Tecnologia();
                     cambios.setNombre(updateRequest.getNombre());
                     cambios.setDescripcion(updateRequest.getDescripcion());
+                    if (updateRequest.getTags() != null) {
+                        cambios.setTags(TecnologiaTags.join(updateRequest.getTags()));
+                    }
                     return service.updateParcial(id, cambios);
                 })
                 .map(this::mapToResponse)
@@ -181,6 +390,35 @@ public class TecnologiaHandler {
                 .then(ServerResponse.ok().build());
     }
 
+    @Operation(
+            summary = "Eliminar tecnologías en lote",
+            description = "Elimina las tecnologías indicadas (ids=1,2,3) y sus enlaces con capacidades en una sola transacción. " +
+                    "Retorna los ids que existían y se eliminaron"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tecnologías eliminadas",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "IDs de tecnologías inválidos"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public Mono<ServerResponse> deleteAll(ServerRequest request) {
+        return Mono.fromSupplier(() -> RequestParams.ids(request))
+                .flatMap(service::deleteAll)
+                .flatMap(eliminados -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(eliminados));
+    }
+
+    /**
+     * Etiquetas del parámetro tags, separadas por comas o repetido
+     */
+    private static List<String> tags(ServerRequest request) {
+        return request.queryParams().getOrDefault("tags", List.of())
+                .stream()
+                .flatMap(tagsStr -> Arrays.stream(tagsStr.split(",")))
+                .toList();
+    }
+
     /**
      * Mapea un modelo de dominio a DTO de respuesta
      */
@@ -188,10 +426,44 @@ public class TecnologiaHandler {
         return new TecnologiaResponse(
                 tecnologia.getId(),
                 tecnologia.getNombre(),
-                tecnologia.getDescripcion()
+                tecnologia.getDescripcion(),
+                TecnologiaTags.split(tecnologia.getTags())
         );
     }
 
+    /**
+     * Normaliza las etiquetas de un alta; sin etiquetas la columna queda en null
+     */
+    private String toTags(List<String> tags) {
+        if (tags == null) {
+            return null;
+        }
+        String joined = TecnologiaTags.join(tags);
+        return joined.isEmpty() ? null : joined;
+    }
+
+    private TecnologiaBatchResponse mapToBatchResponse(List<TecnologiaBatchItem> items) {
+        List<TecnologiaBatchItemResponse> responses = items.stream()
+                .map(item -> new TecnologiaBatchItemResponse(
+                        item.nombre(),
+                        item.status().name(),
+                        item.tecnologia() == null ? null : mapToResponse(item.tecnologia())))
+                .toList();
+        int created = (int) items.stream()
+                .filter(item -> item.status() == TecnologiaBatchItem.Status.CREATED)
+                .count();
+        return new TecnologiaBatchResponse(created, items.size() - created, responses);
+    }
+
+    /**
+     * Sin parámetros de paginación se mantiene la respuesta completa como arreglo
+     */
+    private boolean isPagedRequest(ServerRequest request) {
+        return request.queryParam("cursor").isPresent()
+                || request.queryParam("limit").isPresent()
+                || request.queryParam("direction").isPresent();
+    }
+
     /**
      * Valida la petición de creación
      */
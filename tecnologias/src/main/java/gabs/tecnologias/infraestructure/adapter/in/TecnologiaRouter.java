@@ -3,6 +3,8 @@ package gabs.tecnologias.infraestructure.adapter.in;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
@@ -13,18 +15,39 @@ public class TecnologiaRouter {
     private static final String CAP_PATH = PATH + "/capacidad";
 
     @Bean
-    RouterFunction<ServerResponse> router(TecnologiaHandler handler, CapacidadTecnologiaHandler handlerCap) {
+    public RouterFunction<ServerResponse> router(TecnologiaHandler handler, CapacidadTecnologiaHandler handlerCap) {
         return RouterFunctions.route()
+                .GET(PATH, explicitNdjson(), handler::streamAll)
                 .GET(PATH, handler::getAll)
+                .GET(CAP_PATH, handlerCap::getTechsByCapacidadesIds)
                 .GET(CAP_PATH+  "/{id}", handlerCap::getTechsByCapacidadId)
                 .POST(CAP_PATH+  "/{id}", handlerCap::saveCapacidadTecnologia)
                 .DELETE(CAP_PATH , handlerCap::deleteTecnologiasOfCapacidadesIds)
+                .GET(PATH + "/exists", handler::existsByIds)
+                .GET(PATH + "/search", handler::search)
+                .GET(PATH + "/changes", handler::changes)
+                .GET(PATH + "/snapshot", handlerCap::getSnapshot)
+                .GET(PATH + "/stats/top", handlerCap::getTopUsed)
+                .GET(PATH + "/stats/cache", handler::cacheStats)
+                .GET(PATH + "/stats/index", handlerCap::indexStats)
+                .GET(PATH + "/stats/writes", handlerCap::writeStats)
                 .GET(PATH + "/exists/{id}", handler::existsById)
                 .GET(PATH + "/{id}", handler::getById)
                 .GET(PATH + "/name/{nombre}", handler::findByNombre)
+                .POST(PATH + "/batch", handler::saveAll)
                 .POST(PATH , handler::save)
                 .PUT(PATH + "/{id}", handler::update)
+                .DELETE(PATH, handler::deleteAll)
                 .DELETE(PATH + "/{id}", handler::delete)
                 .build();
     }
+
+    /**
+     * Solo si el Accept lista NDJSON explícitamente: accept(...) también acepta la falta de Accept y el comodín,
+     * y esos clientes deben seguir recibiendo el arreglo JSON con su paginación
+     */
+    static RequestPredicate explicitNdjson() {
+        return request -> request.headers().accept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
 }
@@ -0,0 +1,153 @@
+package gabs.tecnologias.infraestructure.adapter.in;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaSnapshot;
+import gabs.tecnologias.dto.TecnologiaSnapshotResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Codifica la foto del catálogo como JSON compacto, plano y comprimido con gzip.
+ * Guarda la última codificación: mientras la versión no cambie, los pods que arrancan reciben los mismos bytes.
+ * Las peticiones que llegan mientras se codifica una versión esperan esa misma codificación.
+ */
+@Component
+@RequiredArgsConstructor
+public class TecnologiaSnapshotEncoder {
+
+    private final ObjectMapper objectMapper;
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicReference<EncodedSnapshot> last = new AtomicReference<>();
+    private final AtomicReference<PendingEncode> pending = new AtomicReference<>();
+
+    /**
+     * ETag de una versión; incluye el arranque porque el seq del feed vuelve a cero al reiniciar
+     */
+    public String etag(long version) {
+        return "\"" + epoch + "-" + version + "\"";
+    }
+
+    public Optional<EncodedSnapshot> cached(long version) {
+        return Optional.ofNullable(last.get())
+                .filter(encoded -> encoded.version() == version);
+    }
+
+    /**
+     * Codificación de la versión pedida: la guardada, la que está en curso o una nueva a partir de snapshot
+     */
+    public Mono<EncodedSnapshot> encoded(long version, Supplier<Mono<TecnologiaSnapshot>> snapshot) {
+        return Mono.defer(() -> {
+            Optional<EncodedSnapshot> hit = cached(version);
+            if (hit.isPresent()) {
+                return Mono.just(hit.get());
+            }
+            PendingEncode current = pending.get();
+            if (current != null && current.version() == version) {
+                return current.result();
+            }
+
+            AtomicReference<PendingEncode> self = new AtomicReference<>();
+            // cache() comparte la única lectura y codificación; se quita solo su propia entrada al terminar
+            Mono<EncodedSnapshot> result = Mono.defer(snapshot)
+                    .map(this::encode)
+                    .doFinally(signal -> pending.compareAndSet(self.get(), null))
+                    .cache();
+            self.set(new PendingEncode(version, result));
+            return pending.compareAndSet(current, self.get()) ? result : encoded(version, snapshot);
+        });
+    }
+
+    public EncodedSnapshot encode(TecnologiaSnapshot snapshot) {
+        byte[] json = json(toResponse(snapshot));
+        EncodedSnapshot encoded = new EncodedSnapshot(snapshot.version(), etag(snapshot.version()), json, gzip(json));
+        last.set(encoded);
+        return encoded;
+    }
+
+    static TecnologiaSnapshotResponse toResponse(TecnologiaSnapshot snapshot) {
+        List<Tecnologia> tecnologias = new ArrayList<>(snapshot.tecnologias());
+        tecnologias.sort(Comparator.comparing(Tecnologia::getId));
+
+        long[] tecnologiaIds = new long[tecnologias.size()];
+        List<String> nombres = new ArrayList<>(tecnologias.size());
+        List<String> descripciones = new ArrayList<>(tecnologias.size());
+        List<String> tags = new ArrayList<>(tecnologias.size());
+        long previous = 0;
+        for (int i = 0; i < tecnologias.size(); i++) {
+            Tecnologia tecnologia = tecnologias.get(i);
+            tecnologiaIds[i] = tecnologia.getId() - previous;
+            previous = tecnologia.getId();
+            nombres.add(tecnologia.getNombre());
+            descripciones.add(tecnologia.getDescripcion());
+            tags.add(tecnologia.getTags());
+        }
+
+        List<CapacidadTecnologia> links = new ArrayList<>(snapshot.links());
+        links.sort(Comparator.comparing(CapacidadTecnologia::getCapacidadId)
+                .thenComparing(CapacidadTecnologia::getTecnologiaId));
+
+        int capacidades = (int) links.stream().map(CapacidadTecnologia::getCapacidadId).distinct().count();
+        long[] capacidadIds = new long[capacidades];
+        int[] tecnologiasPorCapacidad = new int[capacidades];
+        long[] capacidadTecnologiaIds = new long[links.size()];
+        int capacidad = -1;
+        long previousCapacidad = 0;
+        long previousTecnologia = 0;
+        for (int i = 0; i < links.size(); i++) {
+            CapacidadTecnologia link = links.get(i);
+            if (capacidad < 0 || link.getCapacidadId() != previousCapacidad) {
+                capacidad++;
+                capacidadIds[capacidad] = link.getCapacidadId() - previousCapacidad;
+                previousCapacidad = link.getCapacidadId();
+                previousTecnologia = 0;
+            }
+            tecnologiasPorCapacidad[capacidad]++;
+            capacidadTecnologiaIds[i] = link.getTecnologiaId() - previousTecnologia;
+            previousTecnologia = link.getTecnologiaId();
+        }
+
+        return new TecnologiaSnapshotResponse(TecnologiaSnapshotResponse.FORMAT, snapshot.version(),
+                tecnologiaIds, nombres, descripciones, tags, capacidadIds, tecnologiasPorCapacidad, capacidadTecnologiaIds);
+    }
+
+    private byte[] json(TecnologiaSnapshotResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo codificar la foto del catálogo", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo comprimir la foto del catálogo", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * La foto en JSON plano y comprimido, para servir a clientes con y sin gzip
+     */
+    public record EncodedSnapshot(long version, String etag, byte[] json, byte[] gzip) {
+    }
+
+    private record PendingEncode(long version, Mono<EncodedSnapshot> result) {
+    }
+}
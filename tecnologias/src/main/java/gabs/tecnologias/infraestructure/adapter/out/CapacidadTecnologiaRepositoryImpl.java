@@ -2,8 +2,11 @@ package gabs.tecnologias.infraestructure.adapter.out;
 
 
 import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.model.TecnologiaCapacidad;
+import gabs.tecnologias.domain.model.TecnologiaUso;
 import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -15,17 +18,68 @@ import java.util.List;
 public class CapacidadTecnologiaRepositoryImpl implements CapacidadTecnologiaRepositoryPort {
 
     private  final SpringDataCapacidadTecnologiaRepository repository;
+    private final DatabaseClient databaseClient;
 
     @Override
     public Flux<CapacidadTecnologia> findByCapacidadId(Long capacidadId) {
         return repository.findByCapacidadId(capacidadId);
     }
 
+    @Override
+    public Flux<CapacidadTecnologia> findAllLinks() {
+        return repository.findAllOrdered();
+    }
+
+    @Override
+    public Flux<TecnologiaCapacidad> findTecnologiasByCapacidadId(Long capacidadId) {
+        return repository.findTecnologiasByCapacidadId(capacidadId);
+    }
+
+    @Override
+    public Flux<TecnologiaCapacidad> findTecnologiasByCapacidadesIds(List<Long> capacidadesIds) {
+        return repository.findTecnologiasByCapacidadesIds(capacidadesIds);
+    }
+
     @Override
     public Mono<CapacidadTecnologia> save(CapacidadTecnologia capacidadTecnologia) {
         return repository.save(capacidadTecnologia);
     }
 
+    /**
+     * Inserta todas las filas con un único INSERT multi-fila.
+     * Los ids generados no se leen, las entidades se devuelven tal como llegaron.
+     */
+    @Override
+    public Flux<CapacidadTecnologia> insertAll(List<CapacidadTecnologia> capacidadesTecnologia) {
+        if (capacidadesTecnologia.isEmpty()) {
+            return Flux.empty();
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO capacidades_tecnologia (capacidad_id, tecnologia_id) VALUES ");
+        for (int i = 0; i < capacidadesTecnologia.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:c").append(i).append(", :t").append(i).append(")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < capacidadesTecnologia.size(); i++) {
+            CapacidadTecnologia fila = capacidadesTecnologia.get(i);
+            spec = spec.bind("c" + i, fila.getCapacidadId())
+                    .bind("t" + i, fila.getTecnologiaId());
+        }
+
+        return spec.fetch()
+                .rowsUpdated()
+                .thenMany(Flux.fromIterable(capacidadesTecnologia));
+    }
+
+    @Override
+    public Flux<Long> lockExistingTecnologias(List<Long> tecnologiaIds) {
+        if (tecnologiaIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return repository.lockExistingTecnologias(tecnologiaIds);
+    }
+
     @Override
     public Flux<Long> findExclusiveTechsByCapacidadesIds(List<Long> capacidadId) {
         return repository.findExclusiveTechsByCapacidadesIds(capacidadId);
@@ -35,4 +89,55 @@ public class CapacidadTecnologiaRepositoryImpl implements CapacidadTecnologiaRep
     public Mono<Void> deleteByCapacidadesIds(List<Long> capacidadesIds) {
         return repository.deleteByCapacidadesIds(capacidadesIds);
     }
+
+    @Override
+    public Mono<Void> deleteByTecnologiasIds(List<Long> tecnologiaIds) {
+        if (tecnologiaIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return repository.deleteByTecnologiasIds(tecnologiaIds);
+    }
+
+    /**
+     * Suma un uso a cada tecnología con un único INSERT ... ON DUPLICATE KEY UPDATE
+     */
+    @Override
+    public Mono<Void> incrementUsage(List<Long> tecnologiaIds) {
+        if (tecnologiaIds.isEmpty()) {
+            return Mono.empty();
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO tecnologia_uso (tecnologia_id, capacidades) VALUES ");
+        for (int i = 0; i < tecnologiaIds.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:t").append(i).append(", 1)");
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE capacidades = capacidades + 1");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < tecnologiaIds.size(); i++) {
+            spec = spec.bind("t" + i, tecnologiaIds.get(i));
+        }
+
+        return spec.fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Void> decrementUsageByCapacidadesIds(List<Long> capacidadesIds) {
+        return repository.decrementUsageByCapacidadesIds(capacidadesIds);
+    }
+
+    @Override
+    public Mono<Void> deleteUsage(List<Long> tecnologiaIds) {
+        if (tecnologiaIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return repository.deleteUsage(tecnologiaIds);
+    }
+
+    @Override
+    public Flux<TecnologiaUso> findTopUsed(int limit) {
+        return repository.findTopUsed(limit);
+    }
 }
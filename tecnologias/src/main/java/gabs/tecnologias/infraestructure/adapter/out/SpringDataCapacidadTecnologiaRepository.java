@@ -1,7 +1,10 @@
 package gabs.tecnologias.infraestructure.adapter.out;
 
 import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.model.TecnologiaCapacidad;
+import gabs.tecnologias.domain.model.TecnologiaUso;
 import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -11,23 +14,74 @@ import java.util.List;
 public interface SpringDataCapacidadTecnologiaRepository extends ReactiveCrudRepository<CapacidadTecnologia, Long> {
     Flux<CapacidadTecnologia> findByCapacidadId(Long capacidadId);
 
+    @Query("SELECT * FROM capacidades_tecnologia ORDER BY capacidad_id, tecnologia_id")
+    Flux<CapacidadTecnologia> findAllOrdered();
 
+    @Query("""
+    SELECT ct.capacidad_id, t.id, t.nombre
+    FROM capacidades_tecnologia ct
+    JOIN tecnologias t ON t.id = ct.tecnologia_id
+    WHERE ct.capacidad_id = :capacidadId
+    ORDER BY ct.id
+    """)
+    Flux<TecnologiaCapacidad> findTecnologiasByCapacidadId(Long capacidadId);
 
+    @Query("""
+    SELECT ct.capacidad_id, t.id, t.nombre
+    FROM capacidades_tecnologia ct
+    JOIN tecnologias t ON t.id = ct.tecnologia_id
+    WHERE ct.capacidad_id IN (:capacidadesIds)
+    ORDER BY ct.capacidad_id, ct.id
+    """)
+    Flux<TecnologiaCapacidad> findTecnologiasByCapacidadesIds(List<Long> capacidadesIds);
 
+    // FOR SHARE: un DELETE concurrente de esas tecnologías espera a que la transacción termine
+    @Query("SELECT id FROM tecnologias WHERE id IN (:tecnologiaIds) FOR SHARE")
+    Flux<Long> lockExistingTecnologias(List<Long> tecnologiaIds);
+
+    // Una tecnología es exclusiva si todos sus usos están entre las capacidades dadas
     @Query("""
-    SELECT tecnologia_id
-    FROM capacidades_tecnologia
-    GROUP BY tecnologia_id
-    HAVING
-        SUM(CASE WHEN capacidad_id NOT IN (:capacidadesIds) THEN 1 ELSE 0 END) = 0
-        AND MAX(CASE WHEN capacidad_id IN (:capacidadesIds) THEN 1 ELSE 0 END) = 1
+    SELECT ct.tecnologia_id
+    FROM capacidades_tecnologia ct
+    JOIN tecnologia_uso u ON u.tecnologia_id = ct.tecnologia_id
+    WHERE ct.capacidad_id IN (:capacidadesIds)
+    GROUP BY ct.tecnologia_id, u.capacidades
+    HAVING COUNT(*) = u.capacidades
     """)
     Flux<Long> findExclusiveTechsByCapacidadesIds(List<Long> capacidadesIds);
 
+    @Query("""
+    UPDATE tecnologia_uso u
+    JOIN (
+        SELECT tecnologia_id, COUNT(*) AS usos
+        FROM capacidades_tecnologia
+        WHERE capacidad_id IN (:capacidadesIds)
+        GROUP BY tecnologia_id
+    ) d ON d.tecnologia_id = u.tecnologia_id
+    SET u.capacidades = u.capacidades - d.usos
+    """)
+    Mono<Void> decrementUsageByCapacidadesIds(List<Long> capacidadesIds);
+
+    @Query("""
+    SELECT t.id, t.nombre, u.capacidades
+    FROM tecnologia_uso u
+    JOIN tecnologias t ON t.id = u.tecnologia_id
+    WHERE u.capacidades > 0
+    ORDER BY u.capacidades DESC, t.id
+    LIMIT :limit
+    """)
+    Flux<TecnologiaUso> findTopUsed(@Param("limit") int limit);
+
+    @Query("DELETE FROM tecnologia_uso WHERE tecnologia_id IN (:tecnologiaIds)")
+    Mono<Void> deleteUsage(List<Long> tecnologiaIds);
+
 
     @Query("DELETE FROM capacidades_tecnologia WHERE capacidad_id IN (:capacidadesIds)")
     Mono<Void> deleteByCapacidadesIds(List<Long> capacidadesIds);
 
+    @Query("DELETE FROM capacidades_tecnologia WHERE tecnologia_id IN (:tecnologiaIds)")
+    Mono<Void> deleteByTecnologiasIds(List<Long> tecnologiaIds);
+
 
 
 }
@@ -1,11 +1,47 @@
 package gabs.tecnologias.infraestructure.adapter.out;
 
 import gabs.tecnologias.domain.model.Tecnologia;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface SpringDataTecnologiaRepository extends ReactiveCrudRepository<Tecnologia, Long> {
     Mono<Tecnologia> findByNombre(String nombre);
     Mono<Boolean> existsByNombre(String nombre);
 
+    @Query("SELECT id FROM tecnologias WHERE id IN (:ids)")
+    Flux<Long> findExistingIds(List<Long> ids);
+
+    // Misma expresión que el índice único ux_tecnologias_nombre (db/02); recibe las claves ya normalizadas
+    @Query("SELECT * FROM tecnologias WHERE LOWER(TRIM(nombre)) IN (:nombres)")
+    Flux<Tecnologia> findByNombres(List<String> nombres);
+
+    // Paginación por cursor sobre (nombre, id) con el índice idx_tecnologias_nombre_id (db/04):
+    // cada página cuesta lo mismo sin importar su profundidad
+    @Query("SELECT * FROM tecnologias ORDER BY nombre ASC, id ASC LIMIT :limit")
+    Flux<Tecnologia> findFirstPageAsc(@Param("limit") int limit);
+
+    @Query("""
+    SELECT * FROM tecnologias
+    WHERE (nombre, id) > (:nombre, :id)
+    ORDER BY nombre ASC, id ASC
+    LIMIT :limit
+    """)
+    Flux<Tecnologia> findPageAfterAsc(@Param("nombre") String nombre, @Param("id") Long id, @Param("limit") int limit);
+
+    @Query("SELECT * FROM tecnologias ORDER BY nombre DESC, id DESC LIMIT :limit")
+    Flux<Tecnologia> findFirstPageDesc(@Param("limit") int limit);
+
+    @Query("""
+    SELECT * FROM tecnologias
+    WHERE (nombre, id) < (:nombre, :id)
+    ORDER BY nombre DESC, id DESC
+    LIMIT :limit
+    """)
+    Flux<Tecnologia> findPageAfterDesc(@Param("nombre") String nombre, @Param("id") Long id, @Param("limit") int limit);
+
 }
@@ -1,19 +1,25 @@
 package gabs.tecnologias.infraestructure.adapter.out;
 
 import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaCursor;
 import gabs.tecnologias.domain.port.TecnologiaRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Locale;
+
 @Repository
 @RequiredArgsConstructor
 
 public class TecnologiaRepositoryImpl implements TecnologiaRepositoryPort {
 
     private final SpringDataTecnologiaRepository repository;
+    private final DatabaseClient databaseClient;
 
 
 
@@ -23,6 +29,18 @@ public class TecnologiaRepositoryImpl implements TecnologiaRepositoryPort {
         return repository.findAll();
     }
 
+    @Override
+    public Flux<Tecnologia> findPage(TecnologiaCursor after, int limit, boolean descending) {
+        if (after == null) {
+            return descending
+                    ? repository.findFirstPageDesc(limit)
+                    : repository.findFirstPageAsc(limit);
+        }
+        return descending
+                ? repository.findPageAfterDesc(after.nombre(), after.id(), limit)
+                : repository.findPageAfterAsc(after.nombre(), after.id(), limit);
+    }
+
     @Override
     public Mono<Tecnologia> findById(Long id) {
         return repository.findById(id);
@@ -43,11 +61,59 @@ public class TecnologiaRepositoryImpl implements TecnologiaRepositoryPort {
         return repository.existsById(id);
     }
 
+    @Override
+    public Flux<Long> findExistingIds(List<Long> ids) {
+        return repository.findExistingIds(ids);
+    }
+
+    @Override
+    public Flux<Tecnologia> findByNombres(List<String> nombres) {
+        if (nombres.isEmpty()) {
+            return Flux.empty();
+        }
+        return repository.findByNombres(nombres.stream()
+                .map(nombre -> nombre.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList());
+    }
+
     @Override
     public Mono<Tecnologia> save(Tecnologia tecnologia) {
         return repository.save(tecnologia);
     }
 
+    /**
+     * Inserta todas las filas con un único INSERT multi-fila; los ids generados no se leen
+     */
+    @Override
+    public Mono<Void> insertAll(List<Tecnologia> tecnologias) {
+        if (tecnologias.isEmpty()) {
+            return Mono.empty();
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO tecnologias (nombre, descripcion, tags) VALUES ");
+        for (int i = 0; i < tecnologias.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:n").append(i).append(", :d").append(i)
+                    .append(", :g").append(i).append(")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < tecnologias.size(); i++) {
+            Tecnologia fila = tecnologias.get(i);
+            spec = spec.bind("n" + i, fila.getNombre());
+            spec = fila.getDescripcion() == null
+                    ? spec.bindNull("d" + i, String.class)
+                    : spec.bind("d" + i, fila.getDescripcion());
+            spec = fila.getTags() == null
+                    ? spec.bindNull("g" + i, String.class)
+                    : spec.bind("g" + i, fila.getTags());
+        }
+
+        return spec.fetch()
+                .rowsUpdated()
+                .then();
+    }
+
     @Override
     public Mono<Void> deleteById(Long id) {
         return repository.deleteById(id);
@@ -0,0 +1,97 @@
+package gabs.tecnologias.infraestructure.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU acotado de respuestas ya serializadas a JSON.
+ * Cada entrada guarda la marca del dato del que salió (la entidad o su ETag): si al leer la marca
+ * actual no coincide, la entrada se descarta, así una lectura concurrente con una escritura nunca
+ * deja bytes viejos publicados.
+ */
+public class EncodedResponseCache<K> {
+
+    private final int maxEntries;
+    private final Map<K, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EncodedResponseCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry> eldest) {
+                boolean remove = size() > EncodedResponseCache.this.maxEntries;
+                if (remove) {
+                    evictions.increment();
+                }
+                return remove;
+            }
+        };
+    }
+
+    public Optional<byte[]> get(K key, Object stamp) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && !Objects.equals(entry.stamp(), stamp)) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.bytes());
+    }
+
+    public byte[] put(K key, Object stamp, byte[] bytes) {
+        synchronized (entries) {
+            entries.put(key, new Entry(stamp, bytes));
+        }
+        return bytes;
+    }
+
+    public void evict(K key) {
+        synchronized (entries) {
+            if (entries.remove(key) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            evictions.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        long bytes = 0;
+        synchronized (entries) {
+            size = entries.size();
+            for (Entry entry : entries.values()) {
+                bytes += entry.bytes().length;
+            }
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return new Stats(size, maxEntries, bytes, hitCount, missCount, evictions.sum(),
+                total == 0 ? 0.0 : (double) hitCount / total);
+    }
+
+    private record Entry(Object stamp, byte[] bytes) {
+    }
+
+    public record Stats(int size, int maxEntries, long bytes, long hits, long misses, long evictions, double hitRate) {
+    }
+}
@@ -0,0 +1,88 @@
+package gabs.tecnologias.infraestructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gabs.tecnologias.application.changes.TecnologiaChange;
+import gabs.tecnologias.application.changes.TecnologiaChangeFeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Caches de bytes JSON para GET /technology/{id} y GET /technology/capacidad/{id}.
+ * Escucha el feed de cambios para sacar las entradas de lo que se modificó.
+ */
+@Component
+public class ResponseCaches {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCaches.class);
+
+    private final ObjectMapper objectMapper;
+    private final TecnologiaChangeFeed changes;
+    private final EncodedResponseCache<Long> tecnologias;
+    private final EncodedResponseCache<Long> capacidades;
+
+    public ResponseCaches(ObjectMapper objectMapper,
+                          TecnologiaChangeFeed changes,
+                          @Value("${tecnologias.response-cache.max-entries:10000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.changes = changes;
+        this.tecnologias = new EncodedResponseCache<>(maxEntries);
+        this.capacidades = new EncodedResponseCache<>(maxEntries);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeToChanges() {
+        changes.changesSince(null).subscribe(
+                this::evict,
+                error -> {
+                    logger.error("Se perdió la suscripción al feed de cambios, se vacían los caches de respuestas", error);
+                    tecnologias.clear();
+                    capacidades.clear();
+                });
+    }
+
+    public EncodedResponseCache<Long> tecnologias() {
+        return tecnologias;
+    }
+
+    public EncodedResponseCache<Long> capacidades() {
+        return capacidades;
+    }
+
+    public byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("No se pudo serializar la respuesta", e);
+        }
+    }
+
+    public Map<String, EncodedResponseCache.Stats> stats() {
+        return Map.of(
+                "tecnologias", tecnologias.stats(),
+                "capacidades", capacidades.stats());
+    }
+
+    void evict(TecnologiaChange change) {
+        switch (change.type()) {
+            case CREATED -> tecnologias.evict(change.tecnologiaId());
+            // El nombre aparece en las listas de todas las capacidades que la usan
+            case UPDATED, DELETED -> {
+                tecnologias.evict(change.tecnologiaId());
+                capacidades.clear();
+            }
+            case LINKED, UNLINKED -> capacidades.evict(change.capacidadId());
+            case RESYNC -> {
+                tecnologias.clear();
+                capacidades.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package gabs.tecnologias.infraestructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (ranking de tecnologías más usadas)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
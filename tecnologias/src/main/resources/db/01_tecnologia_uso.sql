@@ -0,0 +1,16 @@
+-- Cantidad de capacidades que usan cada tecnología.
+-- Se mantiene en la misma transacción que las altas y bajas de capacidades_tecnologia
+-- y permite encontrar tecnologías exclusivas sin agrupar toda la tabla de enlaces.
+CREATE TABLE IF NOT EXISTS tecnologia_uso (
+    tecnologia_id BIGINT NOT NULL PRIMARY KEY,
+    capacidades   INT    NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_capacidades_tecnologia_capacidad ON capacidades_tecnologia (capacidad_id, tecnologia_id);
+
+-- Carga inicial a partir de los enlaces existentes
+INSERT INTO tecnologia_uso (tecnologia_id, capacidades)
+SELECT tecnologia_id, COUNT(*)
+FROM capacidades_tecnologia
+GROUP BY tecnologia_id
+ON DUPLICATE KEY UPDATE capacidades = VALUES(capacidades);
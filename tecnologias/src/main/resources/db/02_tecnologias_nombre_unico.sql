@@ -0,0 +1,5 @@
+-- Unicidad del nombre de tecnología sin distinguir mayúsculas ni espacios en los extremos.
+-- Las altas y los renombres insertan o actualizan directo; el duplicado llega como error de clave única.
+-- Requiere MySQL 8.0.13+ (índices sobre expresiones). Antes de crearlo hay que resolver los duplicados existentes:
+--   SELECT LOWER(TRIM(nombre)), COUNT(*) FROM tecnologias GROUP BY LOWER(TRIM(nombre)) HAVING COUNT(*) > 1;
+CREATE UNIQUE INDEX ux_tecnologias_nombre ON tecnologias ((LOWER(TRIM(nombre))));
@@ -0,0 +1,4 @@
+-- Etiquetas de cada tecnología (lenguaje, framework, base de datos, nube...), normalizadas en minúsculas,
+-- ordenadas y separadas por coma. Los filtros por etiqueta se resuelven en memoria con el catálogo,
+-- por eso la columna no lleva índice.
+ALTER TABLE tecnologias ADD COLUMN tags VARCHAR(255) NULL;
@@ -0,0 +1,5 @@
+-- Índice de la paginación por cursor (GET /technology?cursor=...&limit=...).
+-- Las páginas se ordenan por (nombre, id) y buscan la siguiente con (nombre, id) > (:nombre, :id);
+-- con este índice cada página lee solo sus filas, sin importar su profundidad.
+-- El índice único de 02 es sobre LOWER(TRIM(nombre)) y no sirve para ORDER BY nombre, id.
+CREATE INDEX idx_tecnologias_nombre_id ON tecnologias (nombre, id);
@@ -0,0 +1,27 @@
+package gabs.tecnologias;
+
+import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.model.Tecnologia;
+
+/**
+ * Datos de prueba compartidos por los tests
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static Tecnologia tecnologia(Long id, String nombre) {
+        Tecnologia tecnologia = new Tecnologia();
+        tecnologia.setId(id);
+        tecnologia.setNombre(nombre);
+        return tecnologia;
+    }
+
+    /**
+     * Enlace sin id, como los que llegan antes de insertarse
+     */
+    public static CapacidadTecnologia link(Long capacidadId, Long tecnologiaId) {
+        return new CapacidadTecnologia(null, tecnologiaId, capacidadId);
+    }
+}
@@ -0,0 +1,126 @@
+package gabs.tecnologias.application.batch;
+
+import gabs.tecnologias.domain.exception.TecnologiaNotFoundException;
+import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static gabs.tecnologias.TestData.link;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CapacidadTecnologiaBatchWriterTest {
+
+    @Mock
+    private CapacidadTecnologiaRepositoryPort repository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.incrementUsage(anyList())).thenReturn(Mono.empty());
+        lenient().when(repository.lockExistingTecnologias(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Long>>getArgument(0)));
+    }
+
+    @Test
+    void write_WithinWindow_ShouldShareOneInsertAndReturnEachCallerItsRows() {
+        CapacidadTecnologiaBatchWriter writer = new CapacidadTecnologiaBatchWriter(repository, transactionalOperator, true, 50, 500);
+        List<CapacidadTecnologia> primera = List.of(link(1L, 1L), link(1L, 2L));
+        List<CapacidadTecnologia> segunda = List.of(link(2L, 1L));
+        when(repository.insertAll(anyList())).thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+
+        StepVerifier.create(Mono.zip(writer.write(primera), writer.write(segunda)))
+                .expectNextMatches(tuple -> tuple.getT1().equals(primera) && tuple.getT2().equals(segunda))
+                .verifyComplete();
+
+        verify(repository, times(1)).insertAll(anyList());
+        verify(repository).incrementUsage(List.of(1L, 2L, 1L));
+        assertEquals(1, writer.stats().batches());
+        assertEquals(2, writer.stats().requests());
+        assertEquals(3, writer.stats().largestBatchRows());
+    }
+
+    @Test
+    void write_WhenMaxRowsIsReached_ShouldFlushWithoutWaitingForWindow() {
+        CapacidadTecnologiaBatchWriter writer = new CapacidadTecnologiaBatchWriter(repository, transactionalOperator, true, 60_000, 2);
+        List<CapacidadTecnologia> links = List.of(link(1L, 1L), link(1L, 2L));
+        when(repository.insertAll(links)).thenReturn(Flux.fromIterable(links));
+
+        StepVerifier.create(writer.write(links))
+                .expectNext(links)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void write_WhenBatchFails_ShouldRetryEachCallerSeparately() {
+        CapacidadTecnologiaBatchWriter writer = new CapacidadTecnologiaBatchWriter(repository, transactionalOperator, true, 50, 500);
+        List<CapacidadTecnologia> valida = List.of(link(1L, 1L));
+        List<CapacidadTecnologia> invalida = List.of(link(2L, 999L));
+        RuntimeException error = new RuntimeException("FK");
+        when(repository.insertAll(List.of(link(1L, 1L), link(2L, 999L)))).thenReturn(Flux.error(error));
+        when(repository.insertAll(valida)).thenReturn(Flux.fromIterable(valida));
+        when(repository.insertAll(invalida)).thenReturn(Flux.error(error));
+
+        Mono<List<CapacidadTecnologia>> primera = writer.write(valida).cache();
+        Mono<List<CapacidadTecnologia>> segunda = writer.write(invalida).cache();
+        primera.subscribe(ignored -> {}, ignored -> {});
+        segunda.subscribe(ignored -> {}, ignored -> {});
+
+        StepVerifier.create(primera).expectNext(valida).verifyComplete();
+        StepVerifier.create(segunda).expectErrorMessage("FK").verify();
+        assertEquals(2, writer.stats().retriedRequests());
+    }
+
+    @Test
+    void write_WhenTecnologiaWasDeletedAfterValidation_ShouldFailOnlyThatCaller() {
+        CapacidadTecnologiaBatchWriter writer = new CapacidadTecnologiaBatchWriter(repository, transactionalOperator, true, 50, 500);
+        List<CapacidadTecnologia> valida = List.of(link(1L, 1L));
+        List<CapacidadTecnologia> borrada = List.of(link(2L, 7L));
+        when(repository.lockExistingTecnologias(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Long>>getArgument(0)).filter(id -> id != 7L));
+        when(repository.insertAll(valida)).thenReturn(Flux.fromIterable(valida));
+
+        Mono<List<CapacidadTecnologia>> primera = writer.write(valida).cache();
+        Mono<List<CapacidadTecnologia>> segunda = writer.write(borrada).cache();
+        primera.subscribe(ignored -> {}, ignored -> {});
+        segunda.subscribe(ignored -> {}, ignored -> {});
+
+        StepVerifier.create(primera).expectNext(valida).verifyComplete();
+        StepVerifier.create(segunda).expectError(TecnologiaNotFoundException.class).verify();
+        verify(repository, never()).insertAll(borrada);
+        verify(repository, never()).insertAll(List.of(link(1L, 1L), link(2L, 7L)));
+    }
+
+    @Test
+    void write_WhenDisabled_ShouldInsertImmediately() {
+        CapacidadTecnologiaBatchWriter writer = new CapacidadTecnologiaBatchWriter(repository, transactionalOperator, false, 2, 500);
+        List<CapacidadTecnologia> links = List.of(link(1L, 1L));
+        when(repository.insertAll(links)).thenReturn(Flux.fromIterable(links));
+
+        StepVerifier.create(writer.write(links))
+                .expectNext(links)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,143 @@
+package gabs.tecnologias.application.catalog;
+
+import gabs.tecnologias.domain.model.CapacidadTecnologia;
+import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static gabs.tecnologias.TestData.link;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CapacidadTecnologiaIndexTest {
+
+    @Mock
+    private CapacidadTecnologiaRepositoryPort repository;
+
+    @InjectMocks
+    private CapacidadTecnologiaIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Capacidad 1: 3, 1, 2 (con un repetido); capacidad 2: 2, 4; capacidad 3: 5
+        when(repository.findAllLinks()).thenReturn(Flux.just(
+                link(1L, 3L), link(1L, 1L), link(1L, 2L), link(1L, 2L),
+                link(2L, 2L), link(2L, 4L),
+                link(3L, 5L)));
+        index.refresh().block();
+    }
+
+    @Test
+    void refresh_ShouldIndexSortedAndDeduplicated() {
+        assertTrue(index.isLoaded());
+        assertArrayEquals(new long[]{1L, 2L, 3L}, index.tecnologiasOf(1L));
+        assertArrayEquals(new long[]{2L, 4L}, index.tecnologiasOf(2L));
+        assertArrayEquals(new long[0], index.tecnologiasOf(99L));
+        assertEquals(6, index.stats().links());
+    }
+
+    @Test
+    void addLinks_ShouldPublishNewGraph() {
+        index.addLinks(3L, List.of(1L, 6L));
+
+        assertArrayEquals(new long[]{1L, 5L, 6L}, index.tecnologiasOf(3L));
+        assertArrayEquals(new long[]{1L, 2L, 3L}, index.tecnologiasOf(1L));
+    }
+
+    @Test
+    void removeCapacidadesAndTecnologias_ShouldDropTheirLinks() {
+        index.removeCapacidades(List.of(2L));
+        index.removeTecnologias(List.of(1L));
+
+        assertArrayEquals(new long[0], index.tecnologiasOf(2L));
+        assertArrayEquals(new long[]{2L, 3L}, index.tecnologiasOf(1L));
+        assertArrayEquals(new long[]{5L}, index.tecnologiasOf(3L));
+        assertFalse(index.stats().bytesPerLink() <= 0);
+    }
+
+    @Test
+    void addLinks_AfterRemovingTheCapacidad_ShouldOnlyShowTheNewLinks() {
+        index.removeCapacidades(List.of(1L));
+        index.addLinks(1L, List.of(4L));
+
+        assertArrayEquals(new long[]{4L}, index.tecnologiasOf(1L));
+        assertArrayEquals(new long[]{2L, 4L}, index.tecnologiasOf(2L));
+    }
+
+    @Test
+    void patches_ShouldStayInTheDeltaUntilItGrowsAndThenMerge() {
+        index.addLinks(4L, List.of(1L));
+
+        assertEquals(1, index.stats().pending());
+        assertEquals(6, index.stats().links());
+
+        for (long capacidadId = 100; capacidadId < 100 + CapacidadTecnologiaIndex.MIN_PENDING; capacidadId++) {
+            index.addLinks(capacidadId, List.of(7L));
+        }
+
+        assertEquals(0, index.stats().pending());
+        assertEquals(6 + 1 + CapacidadTecnologiaIndex.MIN_PENDING, index.stats().links());
+        assertArrayEquals(new long[]{1L}, index.tecnologiasOf(4L));
+        assertArrayEquals(new long[]{7L}, index.tecnologiasOf(100L + CapacidadTecnologiaIndex.MIN_PENDING - 1));
+    }
+
+    @Test
+    void refresh_ShouldReapplyWritesMadeWhileReadingTheTable() {
+        // Given
+        Sinks.Many<CapacidadTecnologia> rows = Sinks.many().unicast().onBackpressureBuffer();
+        when(repository.findAllLinks()).thenReturn(rows.asFlux());
+
+        // When: un alta y una baja se confirman después de que la lectura ya pasó por esas filas
+        StepVerifier.create(index.refresh())
+                .then(() -> {
+                    rows.tryEmitNext(link(1L, 1L));
+                    rows.tryEmitNext(link(2L, 2L));
+                    index.addLinks(3L, List.of(5L));
+                    index.removeCapacidades(List.of(1L));
+                    rows.tryEmitComplete();
+                })
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        assertArrayEquals(new long[0], index.tecnologiasOf(1L));
+        assertArrayEquals(new long[]{2L}, index.tecnologiasOf(2L));
+        assertArrayEquals(new long[]{5L}, index.tecnologiasOf(3L));
+    }
+
+    @Test
+    void reconcile_ShouldPickUpLinksWrittenElsewhere() {
+        // Given
+        when(repository.findAllLinks()).thenReturn(Flux.just(link(1L, 1L), link(9L, 8L)));
+
+        // When
+        index.reconcile().block();
+
+        // Then
+        assertArrayEquals(new long[]{8L}, index.tecnologiasOf(9L));
+        assertArrayEquals(new long[0], index.tecnologiasOf(2L));
+    }
+
+    @Test
+    void patches_BeforeFirstLoad_ShouldBeIgnored() {
+        CapacidadTecnologiaIndex empty = new CapacidadTecnologiaIndex(repository);
+
+        empty.addLinks(1L, List.of(1L));
+
+        assertFalse(empty.isLoaded());
+        assertArrayEquals(new long[0], empty.tecnologiasOf(1L));
+    }
+}
@@ -0,0 +1,54 @@
+package gabs.tecnologias.application.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CapacidadVersionsTest {
+
+    private final CapacidadVersions versions = new CapacidadVersions();
+
+    @Test
+    void etag_ShouldChangeOnlyForBumpedCapacidad() {
+        String etag1 = versions.etag(1L);
+        String etag2 = versions.etag(2L);
+
+        versions.bump(1L);
+
+        assertNotEquals(etag1, versions.etag(1L));
+        assertEquals(etag2, versions.etag(2L));
+    }
+
+    @Test
+    void bumpAll_ShouldChangeEveryCapacidad() {
+        String etag1 = versions.etag(1L);
+        String etag2 = versions.etag(2L);
+
+        versions.bumpAll(List.of(1L, 2L));
+
+        assertNotEquals(etag1, versions.etag(1L));
+        assertNotEquals(etag2, versions.etag(2L));
+    }
+
+    @Test
+    void bumpTecnologias_ShouldChangeAllEtags() {
+        String etag1 = versions.etag(1L);
+        String etag3 = versions.etag(3L);
+
+        versions.bumpTecnologias();
+
+        assertNotEquals(etag1, versions.etag(1L));
+        assertNotEquals(etag3, versions.etag(3L));
+    }
+
+    @Test
+    void etag_ShouldBeQuotedStrongTag() {
+        String etag = versions.etag(1L);
+
+        assertEquals('"', etag.charAt(0));
+        assertEquals('"', etag.charAt(etag.length() - 1));
+    }
+}
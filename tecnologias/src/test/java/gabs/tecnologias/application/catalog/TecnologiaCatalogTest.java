@@ -0,0 +1,188 @@
+package gabs.tecnologias.application.catalog;
+
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.port.TecnologiaRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TecnologiaCatalogTest {
+
+    @Mock
+    private TecnologiaRepositoryPort repository;
+
+    private TecnologiaCatalog catalog;
+
+    private Tecnologia java;
+    private Tecnologia spring;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TecnologiaCatalog(repository, new TecnologiaNombreIndex());
+
+        java = tecnologia(1L, "Java");
+        spring = tecnologia(2L, "Spring Boot");
+    }
+
+    @Test
+    void refresh_ShouldLoadSnapshotIndexedByIdAndNombre() {
+        // Given
+        when(repository.findAll()).thenReturn(Flux.just(java, spring));
+
+        // When & Then
+        StepVerifier.create(catalog.refresh())
+                .expectNextMatches(snapshot -> snapshot.version() == 1 && snapshot.size() == 2)
+                .verifyComplete();
+
+        assertTrue(catalog.isLoaded());
+        assertEquals("Java", catalog.findById(1L).orElseThrow().getNombre());
+        assertEquals(2L, catalog.findByNombre("spring boot").orElseThrow().getId());
+    }
+
+    @Test
+    void put_WhenRenamed_ShouldSwapSnapshotAndDropOldNombre() {
+        // Given
+        when(repository.findAll()).thenReturn(Flux.just(java, spring));
+        catalog.refresh().block();
+        TecnologiaCatalog.Snapshot before = catalog.snapshot();
+
+        // When
+        catalog.put(tecnologia(1L, "Kotlin"));
+
+        // Then
+        assertEquals(before.version() + 1, catalog.snapshot().version());
+        assertTrue(catalog.findByNombre("Java").isEmpty());
+        assertEquals(1L, catalog.findByNombre("Kotlin").orElseThrow().getId());
+        assertEquals("Java", before.byId().get(1L).getNombre());
+    }
+
+    @Test
+    void removeAll_ShouldDropEveryId() {
+        // Given
+        when(repository.findAll()).thenReturn(Flux.just(java, spring));
+        catalog.refresh().block();
+
+        // When
+        catalog.removeAll(List.of(1L, 2L));
+
+        // Then
+        assertFalse(catalog.existsById(1L));
+        assertFalse(catalog.existsById(2L));
+        assertTrue(catalog.findAll().isEmpty());
+    }
+
+    @Test
+    void searchByPrefix_ShouldIgnoreCaseAndAccentsAndFollowRenames() {
+        // Given
+        when(repository.findAll()).thenReturn(Flux.just(java, spring, tecnologia(3L, "JavaScript"), tecnologia(4L, "Ángular")));
+        catalog.refresh().block();
+
+        // When
+        catalog.put(tecnologia(2L, "Jáva EE"));
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), catalog.searchByPrefix("JAVA", 10).stream().map(Tecnologia::getId).toList());
+        assertEquals(List.of(1L, 2L), catalog.searchByPrefix("java", 2).stream().map(Tecnologia::getId).toList());
+        assertEquals(List.of(4L), catalog.searchByPrefix("ang", 10).stream().map(Tecnologia::getId).toList());
+        assertTrue(catalog.searchByPrefix("spring", 10).isEmpty());
+    }
+
+    @Test
+    void findByTags_ShouldIntersectOrUniteTagBitsetsAndFollowUpdates() {
+        // Given
+        java.setTags("java,language");
+        spring.setTags("framework,java");
+        Tecnologia mysql = tecnologia(3L, "MySQL");
+        mysql.setTags("database");
+        when(repository.findAll()).thenReturn(Flux.just(java, spring, mysql));
+        catalog.refresh().block();
+
+        // Then
+        assertEquals(List.of(1L, 2L), ids(catalog.findByTags(List.of("java"), true)));
+        assertEquals(List.of(2L), ids(catalog.findByTags(List.of("framework", "java"), true)));
+        assertEquals(List.of(2L, 3L), ids(catalog.findByTags(List.of("framework", "database"), false)));
+        assertTrue(catalog.findByTags(List.of("java", "cloud"), true).isEmpty());
+
+        // When
+        Tecnologia kotlin = tecnologia(1L, "Kotlin");
+        kotlin.setTags("language");
+        catalog.put(kotlin);
+
+        // Then
+        assertEquals(List.of(2L), ids(catalog.findByTags(List.of("java"), true)));
+    }
+
+    @Test
+    void refresh_ShouldReapplyWritesMadeWhileReadingTheTable() {
+        // Given
+        Sinks.Many<Tecnologia> rows = Sinks.many().unicast().onBackpressureBuffer();
+        when(repository.findAll()).thenReturn(rows.asFlux());
+
+        // When: un alta y una baja se confirman después de que la lectura ya pasó por esas filas
+        StepVerifier.create(catalog.refresh())
+                .then(() -> {
+                    rows.tryEmitNext(java);
+                    rows.tryEmitNext(spring);
+                    catalog.put(tecnologia(3L, "Kotlin"));
+                    catalog.remove(1L);
+                    rows.tryEmitComplete();
+                })
+                .expectNextMatches(snapshot -> snapshot.size() == 2)
+                .verifyComplete();
+
+        // Then
+        assertFalse(catalog.existsById(1L));
+        assertEquals("Kotlin", catalog.findById(3L).orElseThrow().getNombre());
+        assertEquals(List.of(3L), catalog.searchByPrefix("kot", 10).stream().map(Tecnologia::getId).toList());
+        assertTrue(catalog.searchByPrefix("java", 10).isEmpty());
+    }
+
+    @Test
+    void reconcile_ShouldPickUpRowsWrittenElsewhere() {
+        // Given
+        when(repository.findAll()).thenReturn(Flux.just(java), Flux.just(java, spring));
+        catalog.refresh().block();
+
+        // When
+        StepVerifier.create(catalog.reconcile()).verifyComplete();
+
+        // Then
+        assertTrue(catalog.existsById(2L));
+        assertEquals(2, catalog.snapshot().version());
+    }
+
+    @Test
+    void put_BeforeInitialLoad_ShouldBeIgnored() {
+        // When
+        catalog.put(java);
+
+        // Then
+        assertFalse(catalog.isLoaded());
+        assertTrue(catalog.findAll().isEmpty());
+    }
+
+    private List<Long> ids(List<Tecnologia> tecnologias) {
+        return tecnologias.stream().map(Tecnologia::getId).toList();
+    }
+
+    private Tecnologia tecnologia(Long id, String nombre) {
+        Tecnologia tecnologia = new Tecnologia();
+        tecnologia.setId(id);
+        tecnologia.setNombre(nombre);
+        tecnologia.setDescripcion("Descripción de " + nombre);
+        return tecnologia;
+    }
+}
@@ -0,0 +1,65 @@
+package gabs.tecnologias.application.changes;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static gabs.tecnologias.TestData.tecnologia;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TecnologiaChangeFeedTest {
+
+    @Test
+    void changesSince_ShouldReplayBufferedEventsAfterSeq() {
+        TecnologiaChangeFeed feed = new TecnologiaChangeFeed(8);
+        feed.created(tecnologia(1L, "Java"));
+        feed.updated(tecnologia(1L, "Java 21"));
+        feed.linked(5L, List.of(1L));
+
+        StepVerifier.create(feed.changesSince(1L).take(2))
+                .expectNextMatches(change -> change.seq() == 2 && change.type() == TecnologiaChange.Type.UPDATED
+                        && "Java 21".equals(change.tecnologia().getNombre()))
+                .expectNextMatches(change -> change.seq() == 3 && change.type() == TecnologiaChange.Type.LINKED
+                        && change.capacidadId() == 5L)
+                .verifyComplete();
+    }
+
+    @Test
+    void changesSince_ShouldEmitLiveEventsAfterReplay() {
+        TecnologiaChangeFeed feed = new TecnologiaChangeFeed(8);
+        feed.created(tecnologia(1L, "Java"));
+
+        StepVerifier.create(feed.changesSince(0L).take(2))
+                .expectNextMatches(change -> change.seq() == 1)
+                .then(() -> feed.deleted(1L))
+                .expectNextMatches(change -> change.seq() == 2 && change.type() == TecnologiaChange.Type.DELETED
+                        && change.tecnologiaId() == 1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void changesSince_WhenCursorFellOutOfBuffer_ShouldEmitResync() {
+        TecnologiaChangeFeed feed = new TecnologiaChangeFeed(2);
+        feed.deleted(1L);
+        feed.deleted(2L);
+        feed.deleted(3L);
+        feed.deleted(4L);
+
+        StepVerifier.create(feed.changesSince(0L).take(1))
+                .expectNextMatches(change -> change.seq() == 4 && change.type() == TecnologiaChange.Type.RESYNC)
+                .verifyComplete();
+    }
+
+    @Test
+    void changesSince_WithoutSince_ShouldStartFromNow() {
+        TecnologiaChangeFeed feed = new TecnologiaChangeFeed(8);
+        feed.deleted(1L);
+
+        StepVerifier.create(feed.changesSince(null).take(1))
+                .then(() -> feed.unlinked(7L))
+                .expectNextMatches(change -> change.seq() == 2 && change.type() == TecnologiaChange.Type.UNLINKED)
+                .verifyComplete();
+        assertEquals(2L, feed.lastSeq());
+    }
+}
@@ -1,7 +1,17 @@
 package gabs.tecnologias.application.service;
 
+import gabs.tecnologias.application.batch.CapacidadTecnologiaBatchWriter;
+import gabs.tecnologias.application.catalog.CapacidadTecnologiaIndex;
+import gabs.tecnologias.application.catalog.TecnologiaCatalog;
+import gabs.tecnologias.application.changes.TecnologiaChangeFeed;
+import gabs.tecnologias.application.stats.TecnologiaTopUsage;
+import gabs.tecnologias.domain.exception.CapacidadTecnologiaNotFoundException;
+import gabs.tecnologias.domain.exception.TecnologiaNotFoundException;
+import gabs.tecnologias.domain.exception.ValidationException;
 import gabs.tecnologias.domain.model.CapacidadTecnologia;
 import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaCapacidad;
+import gabs.tecnologias.domain.model.TecnologiaUso;
 import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
 import gabs.tecnologias.domain.port.TecnologiaRepositoryPort;
 import gabs.tecnologias.dto.CapacidadTecnologiaResponse;
@@ -12,16 +22,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +49,24 @@ class CapacidadTecnologiaServiceTest {
     @Mock
     private TecnologiaRepositoryPort tecnologiaRepository;
 
+    @Mock
+    private TecnologiaCatalog catalog;
+
+    @Mock
+    private TecnologiaChangeFeed changes;
+
+    @Mock
+    private TecnologiaTopUsage topUsage;
+
+    @Mock
+    private CapacidadTecnologiaIndex index;
+
+    @Mock
+    private CapacidadTecnologiaBatchWriter batchWriter;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     @InjectMocks
     private CapacidadTecnologiaService service;
 
@@ -43,6 +77,8 @@ class CapacidadTecnologiaServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
         capacidadTecnologia1 = new CapacidadTecnologia();
         capacidadTecnologia1.setId(1L);
         capacidadTecnologia1.setCapacidadId(1L);
@@ -68,14 +104,11 @@ class CapacidadTecnologiaServiceTest {
     void getTechnologiesListByCapacidad_ShouldReturnTechnologiesList() {
         // Given
         Long capacidadId = 1L;
-        List<CapacidadTecnologia> capacidades = Arrays.asList(capacidadTecnologia1, capacidadTecnologia2);
 
-        when(repository.findByCapacidadId(capacidadId))
-                .thenReturn(Flux.fromIterable(capacidades));
-        when(tecnologiaRepository.findById(1L))
-                .thenReturn(Mono.just(tecnologia1));
-        when(tecnologiaRepository.findById(2L))
-                .thenReturn(Mono.just(tecnologia2));
+        when(repository.findTecnologiasByCapacidadId(capacidadId))
+                .thenReturn(Flux.just(
+                        new TecnologiaCapacidad(capacidadId, 1L, "Java"),
+                        new TecnologiaCapacidad(capacidadId, 2L, "Spring Boot")));
 
         // When & Then
         StepVerifier.create(service.getTechnologiesListByCapacidad(capacidadId))
@@ -89,14 +122,68 @@ class CapacidadTecnologiaServiceTest {
     }
 
     @Test
-    void getTechnologiesListByCapacidad_WhenNoTechnologies_ShouldReturnEmpty() {
+    void getTechnologiesListByCapacidad_WhenNoTechnologies_ShouldThrowNotFound() {
         // Given
         Long capacidadId = 999L;
-        when(repository.findByCapacidadId(capacidadId))
+        when(repository.findTecnologiasByCapacidadId(capacidadId))
                 .thenReturn(Flux.empty());
 
         // When & Then
         StepVerifier.create(service.getTechnologiesListByCapacidad(capacidadId))
+                .expectError(CapacidadTecnologiaNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getTechnologiesListByCapacidad_WhenIndexIsLoaded_ShouldResolveInMemory() {
+        // Given
+        Long capacidadId = 1L;
+        when(index.isLoaded()).thenReturn(true);
+        when(catalog.isLoaded()).thenReturn(true);
+        when(index.tecnologiasOf(capacidadId)).thenReturn(new long[]{1L, 2L});
+        when(catalog.findById(1L)).thenReturn(Optional.of(tecnologia1));
+        when(catalog.findById(2L)).thenReturn(Optional.of(tecnologia2));
+
+        // When & Then
+        StepVerifier.create(service.getTechnologiesListByCapacidad(capacidadId))
+                .expectNextMatches(response -> response.getId().equals(1L) && response.getNombre().equals("Java"))
+                .expectNextMatches(response -> response.getId().equals(2L) && response.getNombre().equals("Spring Boot"))
+                .verifyComplete();
+
+        verify(repository, never()).findTecnologiasByCapacidadId(anyLong());
+    }
+
+    @Test
+    void getTechnologiesListByCapacidad_WhenIndexHasNoLinks_ShouldThrowNotFound() {
+        // Given
+        when(index.isLoaded()).thenReturn(true);
+        when(catalog.isLoaded()).thenReturn(true);
+        when(index.tecnologiasOf(999L)).thenReturn(new long[0]);
+
+        // When & Then
+        StepVerifier.create(service.getTechnologiesListByCapacidad(999L))
+                .expectError(CapacidadTecnologiaNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getTechnologiesListByCapacidades_ShouldGroupJoinRowsByCapacidad() {
+        // Given
+        List<Long> capacidadesIds = Arrays.asList(1L, 2L, 3L);
+
+        when(repository.findTecnologiasByCapacidadesIds(capacidadesIds))
+                .thenReturn(Flux.just(
+                        new TecnologiaCapacidad(1L, 1L, "Java"),
+                        new TecnologiaCapacidad(1L, 2L, "Spring Boot"),
+                        new TecnologiaCapacidad(2L, 1L, "Java")));
+
+        // When & Then
+        StepVerifier.create(service.getTechnologiesListByCapacidades(capacidadesIds))
+                .expectNextMatches(result ->
+                    result.get(1L).size() == 2 &&
+                    result.get(1L).get(1).getNombre().equals("Spring Boot") &&
+                    result.get(2L).size() == 1 &&
+                    result.get(3L).isEmpty())
                 .verifyComplete();
     }
 
@@ -114,15 +201,19 @@ class CapacidadTecnologiaServiceTest {
         expected2.setCapacidadId(capacidadId);
         expected2.setTecnologiaId(2L);
 
-        when(repository.save(any(CapacidadTecnologia.class)))
-                .thenReturn(Mono.just(expected1))
-                .thenReturn(Mono.just(expected2));
+        when(tecnologiaRepository.findExistingIds(tecnologiaIds))
+                .thenReturn(Flux.just(1L, 2L));
+        when(batchWriter.write(List.of(expected1, expected2)))
+                .thenReturn(Mono.just(List.of(expected1, expected2)));
 
         // When & Then
         StepVerifier.create(service.register(capacidadId, tecnologiaIds))
                 .expectNext(expected1)
                 .expectNext(expected2)
                 .verifyComplete();
+
+        verify(index).addLinks(capacidadId, tecnologiaIds);
+        verify(changes).linked(capacidadId, tecnologiaIds);
     }
 
     @Test
@@ -146,8 +237,10 @@ class CapacidadTecnologiaServiceTest {
         expected.setCapacidadId(capacidadId);
         expected.setTecnologiaId(1L);
 
-        when(repository.save(any(CapacidadTecnologia.class)))
-                .thenReturn(Mono.just(expected));
+        when(tecnologiaRepository.findExistingIds(tecnologiaIds))
+                .thenReturn(Flux.just(1L));
+        when(batchWriter.write(List.of(expected)))
+                .thenReturn(Mono.just(List.of(expected)));
 
         // When & Then
         StepVerifier.create(service.register(capacidadId, tecnologiaIds))
@@ -155,6 +248,23 @@ class CapacidadTecnologiaServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void register_WhenAnyTechnologyIsUnknown_ShouldFailWithoutInserting() {
+        // Given
+        Long capacidadId = 1L;
+        List<Long> tecnologiaIds = Arrays.asList(1L, 999L);
+
+        when(tecnologiaRepository.findExistingIds(tecnologiaIds))
+                .thenReturn(Flux.just(1L));
+
+        // When & Then
+        StepVerifier.create(service.register(capacidadId, tecnologiaIds))
+                .expectError(TecnologiaNotFoundException.class)
+                .verify();
+
+        verify(batchWriter, never()).write(anyList());
+    }
+
     @Test
     void deleteCapacidadesByCapacidadesIds_ShouldDeleteTechnologiesAndCapacidades() {
         // Given
@@ -163,6 +273,32 @@ class CapacidadTecnologiaServiceTest {
 
         when(repository.findExclusiveTechsByCapacidadesIds(capacidadesIds))
                 .thenReturn(Flux.fromIterable(tecnologiaIds));
+        when(repository.decrementUsageByCapacidadesIds(capacidadesIds))
+                .thenReturn(Mono.empty());
+        when(repository.deleteUsage(tecnologiaIds))
+                .thenReturn(Mono.empty());
+        when(tecnologiaRepository.deleteAllById(tecnologiaIds))
+                .thenReturn(Mono.empty());
+        when(repository.deleteByCapacidadesIds(capacidadesIds))
+                .thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(service.deleteCapacidadesByCapacidadesIds(capacidadesIds))
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteCapacidadesByCapacidadesIds_ShouldTakeExclusivesFromSqlAndPatchIndexAfterCommit() {
+        // Given
+        List<Long> capacidadesIds = Arrays.asList(1L, 2L);
+        List<Long> tecnologiaIds = Arrays.asList(1L, 2L);
+
+        when(repository.findExclusiveTechsByCapacidadesIds(capacidadesIds))
+                .thenReturn(Flux.fromIterable(tecnologiaIds));
+        when(repository.decrementUsageByCapacidadesIds(capacidadesIds))
+                .thenReturn(Mono.empty());
+        when(repository.deleteUsage(tecnologiaIds))
+                .thenReturn(Mono.empty());
         when(tecnologiaRepository.deleteAllById(tecnologiaIds))
                 .thenReturn(Mono.empty());
         when(repository.deleteByCapacidadesIds(capacidadesIds))
@@ -171,6 +307,10 @@ class CapacidadTecnologiaServiceTest {
         // When & Then
         StepVerifier.create(service.deleteCapacidadesByCapacidadesIds(capacidadesIds))
                 .verifyComplete();
+
+        verify(transactionalOperator).transactional(any(Mono.class));
+        verify(index).removeCapacidades(capacidadesIds);
+        verify(index).removeTecnologias(tecnologiaIds);
     }
 
     @Test
@@ -197,6 +337,10 @@ class CapacidadTecnologiaServiceTest {
 
         when(repository.findExclusiveTechsByCapacidadesIds(capacidadesIds))
                 .thenReturn(Flux.empty());
+        when(repository.decrementUsageByCapacidadesIds(capacidadesIds))
+                .thenReturn(Mono.empty());
+        when(repository.deleteUsage(anyList()))
+                .thenReturn(Mono.empty());
         when(tecnologiaRepository.deleteAllById(anyList()))
                 .thenReturn(Mono.empty());
         when(repository.deleteByCapacidadesIds(capacidadesIds))
@@ -206,4 +350,64 @@ class CapacidadTecnologiaServiceTest {
         StepVerifier.create(service.deleteCapacidadesByCapacidadesIds(capacidadesIds))
                 .verifyComplete();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void deleteCapacidadesByCapacidadesIds_WhenTransactionFails_ShouldNotPublishSideEffects() {
+        // Given
+        List<Long> capacidadesIds = List.of(1L, 2L);
+        when(repository.findExclusiveTechsByCapacidadesIds(capacidadesIds)).thenReturn(Flux.just(1L));
+        when(repository.decrementUsageByCapacidadesIds(capacidadesIds)).thenReturn(Mono.empty());
+        when(repository.deleteUsage(List.of(1L))).thenReturn(Mono.empty());
+        when(tecnologiaRepository.deleteAllById(List.of(1L))).thenReturn(Mono.empty());
+        when(repository.deleteByCapacidadesIds(capacidadesIds)).thenReturn(Mono.error(new RuntimeException("deadlock")));
+
+        // When & Then
+        StepVerifier.create(service.deleteCapacidadesByCapacidadesIds(capacidadesIds))
+                .expectErrorMessage("deadlock")
+                .verify();
+        verifyNoInteractions(catalog, changes);
+        verify(index, never()).removeCapacidades(anyList());
+    }
+
+    @Test
+    void snapshot_ShouldUseFeedVersionCatalogAndAllLinks() {
+        // Given
+        when(changes.lastSeq()).thenReturn(7L);
+        when(catalog.isLoaded()).thenReturn(true);
+        when(catalog.findAll()).thenReturn(List.of(tecnologia1, tecnologia2));
+        when(repository.findAllLinks()).thenReturn(Flux.just(capacidadTecnologia1, capacidadTecnologia2));
+
+        // When & Then
+        StepVerifier.create(service.snapshot())
+                .expectNextMatches(snapshot -> snapshot.version() == 7L
+                        && snapshot.tecnologias().equals(List.of(tecnologia1, tecnologia2))
+                        && snapshot.links().equals(List.of(capacidadTecnologia1, capacidadTecnologia2)))
+                .verifyComplete();
+        verify(tecnologiaRepository, never()).findAll();
+    }
+
+    @Test
+    void findTopUsed_ShouldServePrecomputedRankingWithoutQueries() {
+        // Given
+        TecnologiaUso java = new TecnologiaUso(1L, "Java", 12L);
+        when(topUsage.size()).thenReturn(100);
+        when(topUsage.top(1)).thenReturn(List.of(java));
+
+        // When & Then
+        StepVerifier.create(service.findTopUsed(1))
+                .expectNext(java)
+                .verifyComplete();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void findTopUsed_WhenNIsOutOfRange_ShouldThrowValidationException() {
+        // Given
+        when(topUsage.size()).thenReturn(100);
+
+        // When & Then
+        StepVerifier.create(service.findTopUsed(101))
+                .expectError(ValidationException.class)
+                .verify();
+    }
+}
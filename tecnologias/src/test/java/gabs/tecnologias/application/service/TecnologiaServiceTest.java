@@ -1,6 +1,14 @@
 package gabs.tecnologias.application.service;
 
+import gabs.tecnologias.application.catalog.CapacidadTecnologiaIndex;
+import gabs.tecnologias.application.catalog.CapacidadVersions;
+import gabs.tecnologias.application.catalog.TecnologiaCatalog;
+import gabs.tecnologias.application.changes.TecnologiaChangeFeed;
+import gabs.tecnologias.domain.exception.ValidationException;
 import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaBatchItem;
+import gabs.tecnologias.domain.model.TecnologiaCursor;
+import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
 import gabs.tecnologias.domain.port.TecnologiaRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,16 +16,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +43,24 @@ class TecnologiaServiceTest {
     @Mock
     private TecnologiaRepositoryPort repository;
 
+    @Mock
+    private CapacidadTecnologiaRepositoryPort capacidadTecnologiaRepository;
+
+    @Mock
+    private TecnologiaCatalog catalog;
+
+    @Mock
+    private CapacidadVersions capacidadVersions;
+
+    @Mock
+    private TecnologiaChangeFeed changes;
+
+    @Mock
+    private CapacidadTecnologiaIndex index;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     @InjectMocks
     private TecnologiaService service;
 
@@ -34,6 +69,8 @@ class TecnologiaServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
         tecnologia1 = new Tecnologia();
         tecnologia1.setId(1L);
         tecnologia1.setNombre("Java");
@@ -58,6 +95,90 @@ class TecnologiaServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void findAll_WhenCatalogLoaded_ShouldNotQueryRepository() {
+        // Given
+        when(catalog.isLoaded()).thenReturn(true);
+        when(catalog.findAll()).thenReturn(List.of(tecnologia1, tecnologia2));
+
+        // When & Then
+        StepVerifier.create(service.findAll())
+                .expectNext(tecnologia1)
+                .expectNext(tecnologia2)
+                .verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void streamAll_ShouldReadFromRepositoryEvenWhenCatalogLoaded() {
+        // Given
+        when(repository.findAll()).thenReturn(Flux.just(tecnologia1, tecnologia2));
+
+        // When & Then
+        StepVerifier.create(service.streamAll(), 1)
+                .expectNext(tecnologia1)
+                .thenRequest(1)
+                .expectNext(tecnologia2)
+                .verifyComplete();
+
+        verifyNoInteractions(catalog);
+    }
+
+    @Test
+    void findPage_WhenMoreRowsThanLimit_ShouldReturnNextCursor() {
+        // Given
+        when(repository.findPage(null, 2, false))
+                .thenReturn(Flux.just(tecnologia1, tecnologia2));
+
+        // When & Then
+        StepVerifier.create(service.findPage(null, 1, "asc"))
+                .expectNextMatches(page ->
+                    page.items().equals(List.of(tecnologia1)) &&
+                    TecnologiaCursor.decode(page.nextCursor()).equals(new TecnologiaCursor("Java", 1L)))
+                .verifyComplete();
+    }
+
+    @Test
+    void findPage_WithCursor_ShouldSeekAfterCursorAndEndWithoutNextCursor() {
+        // Given
+        String cursor = new TecnologiaCursor("Java", 1L).encode();
+        when(repository.findPage(new TecnologiaCursor("Java", 1L), 11, true))
+                .thenReturn(Flux.just(tecnologia2));
+
+        // When & Then
+        StepVerifier.create(service.findPage(cursor, 10, "desc"))
+                .expectNextMatches(page ->
+                    page.items().equals(List.of(tecnologia2)) &&
+                    page.nextCursor() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void findPage_WithInvalidCursorOrLimit_ShouldThrowValidationException() {
+        // When & Then
+        StepVerifier.create(service.findPage("%%%", 10, "asc"))
+                .expectError(ValidationException.class)
+                .verify();
+        StepVerifier.create(service.findPage(null, 0, "asc"))
+                .expectError(ValidationException.class)
+                .verify();
+    }
+
+    @Test
+    void findById_WhenCatalogLoaded_ShouldServeFromCatalog() {
+        // Given
+        when(catalog.isLoaded()).thenReturn(true);
+        when(catalog.findById(1L)).thenReturn(Optional.of(tecnologia1));
+
+        // When & Then
+        StepVerifier.create(service.findById(1L))
+                .expectNext(tecnologia1)
+                .verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void findById_WhenTechnologyExists_ShouldReturnTechnology() {
         // Given
@@ -101,6 +222,28 @@ class TecnologiaServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void existsByIds_ShouldAnswerEveryIdWithSingleQuery() {
+        // Given
+        List<Long> ids = Arrays.asList(1L, 2L, 999L);
+        when(repository.findExistingIds(ids)).thenReturn(Flux.just(1L, 2L));
+
+        // When & Then
+        StepVerifier.create(service.existsByIds(ids))
+                .expectNextMatches(result ->
+                    result.equals(Map.of(1L, true, 2L, true, 999L, false)) &&
+                    result.keySet().stream().toList().equals(ids))
+                .verifyComplete();
+    }
+
+    @Test
+    void existsByIds_WithEmptyList_ShouldThrowValidationException() {
+        // When & Then
+        StepVerifier.create(service.existsByIds(List.of()))
+                .expectError(ValidationException.class)
+                .verify();
+    }
+
     @Test
     void create_WhenNameDoesNotExist_ShouldCreateTechnology() {
         // Given
@@ -108,7 +251,6 @@ class TecnologiaServiceTest {
         newTecnologia.setNombre("Python");
         newTecnologia.setDescripcion("Lenguaje de programación interpretado");
 
-        when(repository.existsByNombre("Python")).thenReturn(Mono.just(false));
         when(repository.save(any(Tecnologia.class))).thenReturn(Mono.just(newTecnologia));
 
         // When & Then
@@ -117,6 +259,88 @@ class TecnologiaServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void createAll_ShouldInsertNewNamesOnceAndReportDuplicates() {
+        // Given
+        Tecnologia python = new Tecnologia();
+        python.setNombre("Python");
+        Tecnologia javaRepetida = new Tecnologia();
+        javaRepetida.setNombre("java");
+        Tecnologia pythonRepetida = new Tecnologia();
+        pythonRepetida.setNombre("PYTHON");
+
+        Tecnologia pythonCreada = new Tecnologia();
+        pythonCreada.setId(3L);
+        pythonCreada.setNombre("Python");
+
+        when(repository.findByNombres(List.of("Python", "java", "PYTHON"))).thenReturn(Flux.just(tecnologia1));
+        when(repository.insertAll(List.of(python))).thenReturn(Mono.empty());
+        when(repository.findByNombres(List.of("Python"))).thenReturn(Flux.just(pythonCreada));
+
+        // When & Then
+        StepVerifier.create(service.createAll(List.of(python, javaRepetida, pythonRepetida)))
+                .expectNext(new TecnologiaBatchItem("Python", TecnologiaBatchItem.Status.CREATED, pythonCreada))
+                .expectNext(new TecnologiaBatchItem("java", TecnologiaBatchItem.Status.DUPLICATE, tecnologia1))
+                .expectNext(new TecnologiaBatchItem("PYTHON", TecnologiaBatchItem.Status.DUPLICATE, pythonCreada))
+                .verifyComplete();
+        verify(catalog).put(pythonCreada);
+        verify(changes).created(pythonCreada);
+    }
+
+    @Test
+    void createAll_WithSurroundingSpacesAndOtherCase_ShouldTrimAndReportDuplicates() {
+        // Given
+        Tecnologia javaConEspacios = new Tecnologia();
+        javaConEspacios.setNombre(" JAVA ");
+        Tecnologia go = new Tecnologia();
+        go.setNombre("Go ");
+
+        Tecnologia goCreada = new Tecnologia();
+        goCreada.setId(4L);
+        goCreada.setNombre("Go");
+
+        when(repository.findByNombres(List.of("JAVA", "Go"))).thenReturn(Flux.just(tecnologia1));
+        when(repository.insertAll(List.of(go))).thenReturn(Mono.empty());
+        when(repository.findByNombres(List.of("Go"))).thenReturn(Flux.just(goCreada));
+
+        // When & Then
+        StepVerifier.create(service.createAll(List.of(javaConEspacios, go)))
+                .expectNext(new TecnologiaBatchItem("JAVA", TecnologiaBatchItem.Status.DUPLICATE, tecnologia1))
+                .expectNext(new TecnologiaBatchItem("Go", TecnologiaBatchItem.Status.CREATED, goCreada))
+                .verifyComplete();
+        verify(catalog).put(goCreada);
+        verify(catalog, never()).put(tecnologia1);
+    }
+
+    @Test
+    void createAll_WhenTransactionFails_ShouldNotPublishCreatedTecnologias() {
+        // Given
+        Tecnologia python = new Tecnologia();
+        python.setNombre("Python");
+        Tecnologia pythonCreada = new Tecnologia();
+        pythonCreada.setId(3L);
+        pythonCreada.setNombre("Python");
+
+        when(repository.findByNombres(List.of("Python"))).thenReturn(Flux.empty(), Flux.just(pythonCreada));
+        when(repository.insertAll(List.of(python))).thenReturn(Mono.empty());
+        when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> ((Mono<?>) invocation.getArgument(0)).then(Mono.error(new RuntimeException("commit"))));
+
+        // When & Then
+        StepVerifier.create(service.createAll(List.of(python)))
+                .expectErrorMessage("commit")
+                .verify();
+        verifyNoInteractions(catalog, changes);
+    }
+
+    @Test
+    void createAll_WithEmptyList_ShouldThrowValidationException() {
+        // When & Then
+        StepVerifier.create(service.createAll(List.of()))
+                .expectError(ValidationException.class)
+                .verify();
+    }
+
     @Test
     void create_WhenNameAlreadyExists_ShouldThrowException() {
         // Given
@@ -124,12 +348,14 @@ class TecnologiaServiceTest {
         newTecnologia.setNombre("Java");
         newTecnologia.setDescripcion("Descripción");
 
-        when(repository.existsByNombre("Java")).thenReturn(Mono.just(true));
+        when(repository.save(newTecnologia))
+                .thenReturn(Mono.error(new DuplicateKeyException("Duplicate entry 'java' for key 'ux_tecnologias_nombre'")));
 
         // When & Then
         StepVerifier.create(service.create(newTecnologia))
-                .expectError(IllegalArgumentException.class)
+                .expectError(ValidationException.class)
                 .verify();
+        verify(repository, never()).existsByNombre(anyString());
     }
 
     @Test
@@ -156,6 +382,8 @@ class TecnologiaServiceTest {
         StepVerifier.create(service.updateParcial(1L, cambios))
                 .expectNext(expected)
                 .verifyComplete();
+        verify(capacidadVersions).bumpTecnologias();
+        verify(changes).updated(expected);
     }
 
     @Test
@@ -218,6 +446,42 @@ class TecnologiaServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void findByTags_WhenCatalogIsLoaded_ShouldNormalizeTagsAndUseBitsets() {
+        // Given
+        when(catalog.isLoaded()).thenReturn(true);
+        when(catalog.findByTags(List.of("framework", "java"), false)).thenReturn(List.of(tecnologia1));
+
+        // When & Then
+        StepVerifier.create(service.findByTags(List.of(" Java", "FRAMEWORK", ""), "any"))
+                .expectNext(tecnologia1)
+                .verifyComplete();
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void findByTags_WhenCatalogIsNotLoaded_ShouldFilterTableInMemory() {
+        // Given
+        tecnologia1.setTags("java,language");
+        tecnologia2.setTags("framework,java");
+        when(repository.findAll()).thenReturn(Flux.just(tecnologia1, tecnologia2));
+
+        // When & Then
+        StepVerifier.create(service.findByTags(List.of("java", "framework"), null))
+                .expectNext(tecnologia2)
+                .verifyComplete();
+    }
+
+    @Test
+    void findByTags_WithInvalidModeOrNoTags_ShouldThrowValidationException() {
+        StepVerifier.create(service.findByTags(List.of("java"), "some"))
+                .expectError(ValidationException.class)
+                .verify();
+        StepVerifier.create(service.findByTags(List.of(" "), "all"))
+                .expectError(ValidationException.class)
+                .verify();
+    }
+
     @Test
     void delete_ShouldDeleteTechnology() {
         // Given
@@ -227,4 +491,51 @@ class TecnologiaServiceTest {
         StepVerifier.create(service.delete(1L))
                 .verifyComplete();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void deleteAll_ShouldDeleteExistingIdsWithSetBasedStatements() {
+        // Given
+        List<Long> ids = List.of(1L, 2L, 999L);
+        List<Long> existentes = List.of(1L, 2L);
+        when(repository.findExistingIds(ids)).thenReturn(Flux.fromIterable(existentes));
+        when(capacidadTecnologiaRepository.deleteByTecnologiasIds(existentes)).thenReturn(Mono.empty());
+        when(capacidadTecnologiaRepository.deleteUsage(existentes)).thenReturn(Mono.empty());
+        when(repository.deleteAllById(existentes)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(service.deleteAll(ids))
+                .expectNext(existentes)
+                .verifyComplete();
+        verify(catalog).removeAll(existentes);
+        verify(changes).deleted(1L);
+        verify(changes).deleted(2L);
+    }
+
+    @Test
+    void deleteAll_WhenTransactionFails_ShouldKeepCatalogAndFeed() {
+        // Given
+        List<Long> existentes = List.of(1L, 2L);
+        when(repository.findExistingIds(existentes)).thenReturn(Flux.fromIterable(existentes));
+        when(capacidadTecnologiaRepository.deleteByTecnologiasIds(existentes)).thenReturn(Mono.empty());
+        when(capacidadTecnologiaRepository.deleteUsage(existentes)).thenReturn(Mono.empty());
+        when(repository.deleteAllById(existentes)).thenReturn(Mono.error(new RuntimeException("deadlock")));
+
+        // When & Then
+        StepVerifier.create(service.deleteAll(existentes))
+                .expectErrorMessage("deadlock")
+                .verify();
+        verifyNoInteractions(catalog, index, capacidadVersions, changes);
+    }
+
+    @Test
+    void deleteAll_WhenNoIdExists_ShouldNotDelete() {
+        // Given
+        when(repository.findExistingIds(List.of(999L))).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(service.deleteAll(List.of(999L)))
+                .expectNext(List.of())
+                .verifyComplete();
+        verify(repository, never()).deleteAllById(anyList());
+    }
+}
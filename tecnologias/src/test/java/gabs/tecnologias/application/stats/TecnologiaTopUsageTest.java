@@ -0,0 +1,57 @@
+package gabs.tecnologias.application.stats;
+
+import gabs.tecnologias.domain.model.TecnologiaUso;
+import gabs.tecnologias.domain.port.CapacidadTecnologiaRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TecnologiaTopUsageTest {
+
+    @Mock
+    private CapacidadTecnologiaRepositoryPort repository;
+
+    @Test
+    void top_BeforeFirstRefresh_ShouldBeEmpty() {
+        TecnologiaTopUsage topUsage = new TecnologiaTopUsage(repository, 10);
+
+        assertTrue(topUsage.top(5).isEmpty());
+    }
+
+    @Test
+    void refresh_ShouldPublishRankingAndSliceIt() {
+        TecnologiaTopUsage topUsage = new TecnologiaTopUsage(repository, 10);
+        TecnologiaUso java = new TecnologiaUso(1L, "Java", 12L);
+        TecnologiaUso spring = new TecnologiaUso(2L, "Spring", 8L);
+        when(repository.findTopUsed(10)).thenReturn(Flux.just(java, spring));
+
+        StepVerifier.create(topUsage.refresh()).verifyComplete();
+
+        assertEquals(List.of(java), topUsage.top(1));
+        assertEquals(List.of(java, spring), topUsage.top(5));
+    }
+
+    @Test
+    void refresh_WhenQueryFails_ShouldKeepPreviousRanking() {
+        TecnologiaTopUsage topUsage = new TecnologiaTopUsage(repository, 10);
+        TecnologiaUso java = new TecnologiaUso(1L, "Java", 12L);
+        when(repository.findTopUsed(10))
+                .thenReturn(Flux.just(java))
+                .thenReturn(Flux.error(new RuntimeException("sin conexión")));
+
+        StepVerifier.create(topUsage.refresh()).verifyComplete();
+        StepVerifier.create(topUsage.refresh()).verifyComplete();
+
+        assertEquals(List.of(java), topUsage.top(10));
+    }
+}
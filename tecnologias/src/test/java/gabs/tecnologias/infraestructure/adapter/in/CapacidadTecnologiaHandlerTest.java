@@ -1,14 +1,25 @@
 package gabs.tecnologias.infraestructure.adapter.in;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gabs.tecnologias.application.batch.CapacidadTecnologiaBatchWriter;
+import gabs.tecnologias.application.catalog.CapacidadTecnologiaIndex;
+import gabs.tecnologias.application.catalog.CapacidadVersions;
+import gabs.tecnologias.application.changes.TecnologiaChangeFeed;
 import gabs.tecnologias.application.port.CapacidadTecnologiaUseCases;
+import gabs.tecnologias.domain.exception.ValidationException;
 import gabs.tecnologias.dto.CapacidadTecnologiaResponse;
+import gabs.tecnologias.infraestructure.cache.ResponseCaches;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -16,9 +27,14 @@ import reactor.test.StepVerifier;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +43,18 @@ class CapacidadTecnologiaHandlerTest {
     @Mock
     private CapacidadTecnologiaUseCases capService;
 
+    @Mock
+    private CapacidadVersions versions;
+
+    @Mock
+    private CapacidadTecnologiaIndex index;
+
+    @Mock
+    private CapacidadTecnologiaBatchWriter batchWriter;
+
+    @Spy
+    private ResponseCaches responseCaches = new ResponseCaches(new ObjectMapper(), new TecnologiaChangeFeed(8), 100);
+
     @InjectMocks
     private CapacidadTecnologiaHandler handler;
 
@@ -72,6 +100,92 @@ class CapacidadTecnologiaHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getTechsByCapacidadId_WithMatchingEtag_ShouldReturnNotModifiedWithoutQuery() {
+        // Given
+        when(versions.etag(1L)).thenReturn("\"1-0-3\"");
+        MockServerRequest request = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-0-3\"")
+                .build();
+
+        // When & Then
+        StepVerifier.create(handler.getTechsByCapacidadId(request))
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.NOT_MODIFIED
+                        && "\"1-0-3\"".equals(response.headers().getETag()))
+                .verifyComplete();
+        verifyNoInteractions(capService);
+    }
+
+    @Test
+    void getTechsByCapacidadId_WithStaleEtag_ShouldReturnListWithCurrentEtag() {
+        // Given
+        when(versions.etag(1L)).thenReturn("\"1-0-4\"");
+        when(capService.getTechnologiesListByCapacidad(1L))
+                .thenReturn(Flux.just(response1, response2));
+        MockServerRequest request = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-0-3\"")
+                .build();
+
+        // When & Then
+        StepVerifier.create(handler.getTechsByCapacidadId(request))
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK
+                        && "\"1-0-4\"".equals(response.headers().getETag()))
+                .verifyComplete();
+        verify(capService).getTechnologiesListByCapacidad(1L);
+    }
+
+    @Test
+    void getTechsByCapacidadId_WithSameEtag_ShouldServeCachedBytesWithoutQuery() {
+        // Given
+        when(versions.etag(1L)).thenReturn("\"1-0-4\"");
+        when(capService.getTechnologiesListByCapacidad(1L))
+                .thenReturn(Flux.just(response1, response2));
+        MockServerRequest request = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .build();
+
+        // When
+        StepVerifier.create(handler.getTechsByCapacidadId(request))
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK)
+                .verifyComplete();
+        StepVerifier.create(handler.getTechsByCapacidadId(request))
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK)
+                .verifyComplete();
+
+        // Then
+        verify(capService, times(1)).getTechnologiesListByCapacidad(1L);
+    }
+
+    @Test
+    void getTechsByCapacidadesIds_WithInvalidId_ShouldFailWithValidationError() {
+        // Given
+        MockServerRequest request = MockServerRequest.builder()
+                .queryParam("ids", "1,abc")
+                .build();
+
+        // When & Then
+        StepVerifier.create(handler.getTechsByCapacidadesIds(request))
+                .expectError(ValidationException.class)
+                .verify();
+        verifyNoInteractions(capService);
+    }
+
+    @Test
+    void getTopUsed_WithInvalidN_ShouldFailWithValidationError() {
+        // Given
+        MockServerRequest request = MockServerRequest.builder()
+                .queryParam("n", "diez")
+                .build();
+
+        // When & Then
+        StepVerifier.create(handler.getTopUsed(request))
+                .expectError(ValidationException.class)
+                .verify();
+        verifyNoInteractions(capService);
+    }
+
     @Test
     void saveCapacidadTecnologia_ShouldRegisterTechnologies() {
         // Given
@@ -125,4 +239,13 @@ class CapacidadTecnologiaHandlerTest {
         StepVerifier.create(capService.deleteCapacidadesByCapacidadesIds(capacidadesIds))
                 .verifyComplete();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void acceptsGzip_ShouldFollowAcceptEncoding() {
+        assertTrue(CapacidadTecnologiaHandler.acceptsGzip(List.of("gzip, deflate, br")));
+        assertTrue(CapacidadTecnologiaHandler.acceptsGzip(List.of("br;q=1.0, *;q=0.5")));
+        assertFalse(CapacidadTecnologiaHandler.acceptsGzip(List.of()));
+        assertFalse(CapacidadTecnologiaHandler.acceptsGzip(List.of("identity")));
+        assertFalse(CapacidadTecnologiaHandler.acceptsGzip(List.of("gzip;q=0, deflate")));
+    }
+}
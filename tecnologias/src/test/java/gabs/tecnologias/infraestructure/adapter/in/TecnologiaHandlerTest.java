@@ -1,6 +1,7 @@
 package gabs.tecnologias.infraestructure.adapter.in;
 
 import gabs.tecnologias.application.port.TecnologiaUseCases;
+import gabs.tecnologias.domain.exception.ValidationException;
 import gabs.tecnologias.domain.model.Tecnologia;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -16,6 +18,9 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -177,4 +182,62 @@ class TecnologiaHandlerTest {
         StepVerifier.create(service.delete(1L))
                 .verifyComplete();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getPage_WithInvalidLimit_ShouldFailWithValidationError() {
+        // Given
+        MockServerRequest request = MockServerRequest.builder()
+                .queryParam("limit", "veinte")
+                .build();
+
+        // When & Then
+        StepVerifier.create(handler.getPage(request))
+                .expectError(ValidationException.class)
+                .verify();
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void changes_WithInvalidSince_ShouldFailBeforeStreaming() {
+        // Given
+        MockServerRequest request = MockServerRequest.builder()
+                .queryParam("since", "ayer")
+                .build();
+
+        // When & Then
+        StepVerifier.create(handler.changes(request))
+                .expectError(ValidationException.class)
+                .verify();
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void changes_WithNegativeSince_ShouldFailBeforeStreaming() {
+        // Given
+        MockServerRequest request = MockServerRequest.builder()
+                .queryParam("since", "-1")
+                .build();
+
+        // When & Then
+        StepVerifier.create(handler.changes(request))
+                .expectError(ValidationException.class)
+                .verify();
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void streamAll_WithTags_ShouldStreamOnlyTheFilteredTecnologias() {
+        // Given
+        MockServerRequest request = MockServerRequest.builder()
+                .queryParam("tags", "java,framework")
+                .queryParam("mode", "any")
+                .build();
+        when(service.findByTags(List.of("java", "framework"), "any")).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(handler.streamAll(request))
+                .expectNextMatches(response -> response.statusCode().is2xxSuccessful())
+                .verifyComplete();
+        verify(service, never()).streamAll();
+    }
+}
@@ -0,0 +1,66 @@
+package gabs.tecnologias.infraestructure.adapter.in;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TecnologiaRouterTest {
+
+    @Mock
+    private TecnologiaHandler handler;
+
+    @Mock
+    private CapacidadTecnologiaHandler handlerCap;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(handler.getAll(any())).thenReturn(ServerResponse.ok().build());
+        lenient().when(handler.streamAll(any())).thenReturn(ServerResponse.ok().build());
+        client = WebTestClient.bindToRouterFunction(new TecnologiaRouter().router(handler, handlerCap)).build();
+    }
+
+    @Test
+    void getTechnology_WithoutAccept_ShouldRouteToJsonArray() {
+        client.get().uri("/technology").exchange().expectStatus().isOk();
+
+        verify(handler).getAll(any());
+        verify(handler, never()).streamAll(any());
+    }
+
+    @Test
+    void getTechnology_WithWildcardAccept_ShouldRouteToJsonArray() {
+        client.get().uri("/technology?limit=10")
+                .header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(handler).getAll(any());
+        verify(handler, never()).streamAll(any());
+    }
+
+    @Test
+    void getTechnology_WithNdjsonAccept_ShouldRouteToStream() {
+        client.get().uri("/technology")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE + ", " + MediaType.APPLICATION_NDJSON_VALUE)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(handler).streamAll(any());
+        verify(handler, never()).getAll(any());
+    }
+}
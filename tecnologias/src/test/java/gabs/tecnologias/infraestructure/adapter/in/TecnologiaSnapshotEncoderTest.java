@@ -0,0 +1,107 @@
+package gabs.tecnologias.infraestructure.adapter.in;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gabs.tecnologias.domain.model.Tecnologia;
+import gabs.tecnologias.domain.model.TecnologiaSnapshot;
+import gabs.tecnologias.dto.TecnologiaSnapshotResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static gabs.tecnologias.TestData.link;
+import static gabs.tecnologias.TestData.tecnologia;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TecnologiaSnapshotEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TecnologiaSnapshotEncoder encoder = new TecnologiaSnapshotEncoder(objectMapper);
+
+    @Test
+    void toResponse_ShouldDeltaEncodeSortedIds() {
+        TecnologiaSnapshot snapshot = new TecnologiaSnapshot(3L,
+                List.of(tecnologia(5L, "MySQL"), tecnologia(1L, "Java"), tecnologia(2L, "Spring")),
+                List.of(link(20L, 5L), link(10L, 2L), link(10L, 1L)));
+
+        TecnologiaSnapshotResponse response = TecnologiaSnapshotEncoder.toResponse(snapshot);
+
+        assertEquals(3L, response.getVersion());
+        assertArrayEquals(new long[]{1, 1, 3}, response.getTecnologiaIds());
+        assertEquals(List.of("Java", "Spring", "MySQL"), response.getNombres());
+        assertArrayEquals(new long[]{10, 10}, response.getCapacidadIds());
+        assertArrayEquals(new int[]{2, 1}, response.getTecnologiasPorCapacidad());
+        assertArrayEquals(new long[]{1, 1, 5}, response.getCapacidadTecnologiaIds());
+    }
+
+    @Test
+    void toResponse_ShouldCarryTagsInTheSameOrderAsIds() {
+        Tecnologia spring = tecnologia(2L, "Spring");
+        spring.setTags("java,framework");
+        TecnologiaSnapshot snapshot = new TecnologiaSnapshot(7L, List.of(spring, tecnologia(1L, "Java")), List.of());
+
+        TecnologiaSnapshotResponse response = TecnologiaSnapshotEncoder.toResponse(snapshot);
+
+        assertEquals(2, response.getFormat());
+        assertEquals(Arrays.asList(null, "java,framework"), response.getTags());
+    }
+
+    @Test
+    void encode_ShouldGzipJsonAndCacheByVersion() throws IOException {
+        TecnologiaSnapshot snapshot = new TecnologiaSnapshot(4L, List.of(tecnologia(1L, "Java")), List.of());
+
+        TecnologiaSnapshotEncoder.EncodedSnapshot encoded = encoder.encode(snapshot);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            TecnologiaSnapshotResponse decoded = objectMapper.readValue(in, TecnologiaSnapshotResponse.class);
+            assertEquals(4L, decoded.getVersion());
+            assertEquals(List.of("Java"), decoded.getNombres());
+        }
+        assertSame(encoded, encoder.cached(4L).orElseThrow());
+        assertTrue(encoder.cached(5L).isEmpty());
+    }
+
+    @Test
+    void encode_ShouldKeepPlainJsonForClientsWithoutGzip() throws IOException {
+        TecnologiaSnapshot snapshot = new TecnologiaSnapshot(6L, List.of(tecnologia(1L, "Java")), List.of());
+
+        TecnologiaSnapshotEncoder.EncodedSnapshot encoded = encoder.encode(snapshot);
+
+        TecnologiaSnapshotResponse decoded = objectMapper.readValue(encoded.json(), TecnologiaSnapshotResponse.class);
+        assertEquals(6L, decoded.getVersion());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            assertArrayEquals(encoded.json(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void encoded_WhenSeveralRequestsMissTheCache_ShouldReadAndEncodeOnce() {
+        AtomicInteger reads = new AtomicInteger();
+        Sinks.One<TecnologiaSnapshot> snapshot = Sinks.one();
+        Supplier<Mono<TecnologiaSnapshot>> load = () -> {
+            reads.incrementAndGet();
+            return snapshot.asMono();
+        };
+
+        Mono<TecnologiaSnapshotEncoder.EncodedSnapshot> first = encoder.encoded(7L, load);
+        Mono<TecnologiaSnapshotEncoder.EncodedSnapshot> second = encoder.encoded(7L, load);
+        StepVerifier.create(Mono.zip(first, second, (a, b) -> List.of(a, b)))
+                .then(() -> snapshot.tryEmitValue(new TecnologiaSnapshot(7L, List.of(tecnologia(1L, "Java")), List.of())))
+                .assertNext(encoded -> assertSame(encoded.get(0), encoded.get(1)))
+                .verifyComplete();
+        assertEquals(1, reads.get());
+        assertSame(encoder.cached(7L).orElseThrow(), encoder.encoded(7L, load).block());
+        assertEquals(1, reads.get());
+    }
+}
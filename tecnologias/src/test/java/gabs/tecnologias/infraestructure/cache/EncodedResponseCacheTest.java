@@ -0,0 +1,54 @@
+package gabs.tecnologias.infraestructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EncodedResponseCacheTest {
+
+    @Test
+    void get_WithSameStamp_ShouldHit() {
+        EncodedResponseCache<Long> cache = new EncodedResponseCache<>(10);
+        cache.put(1L, "v1", new byte[]{1, 2});
+
+        assertArrayEquals(new byte[]{1, 2}, cache.get(1L, "v1").orElseThrow());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1.0, cache.stats().hitRate());
+    }
+
+    @Test
+    void get_WithDifferentStamp_ShouldMissAndDropEntry() {
+        EncodedResponseCache<Long> cache = new EncodedResponseCache<>(10);
+        cache.put(1L, "v1", new byte[]{1});
+
+        assertTrue(cache.get(1L, "v2").isEmpty());
+        assertEquals(0, cache.stats().size());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void put_OverCapacity_ShouldEvictLeastRecentlyUsed() {
+        EncodedResponseCache<Long> cache = new EncodedResponseCache<>(2);
+        cache.put(1L, "v", new byte[]{1});
+        cache.put(2L, "v", new byte[]{2});
+        cache.get(1L, "v");
+        cache.put(3L, "v", new byte[]{3});
+
+        assertTrue(cache.get(2L, "v").isEmpty());
+        assertTrue(cache.get(1L, "v").isPresent());
+        assertEquals(2, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void evict_ShouldRemoveEntry() {
+        EncodedResponseCache<Long> cache = new EncodedResponseCache<>(10);
+        cache.put(1L, "v", new byte[]{1});
+
+        cache.evict(1L);
+
+        assertTrue(cache.get(1L, "v").isEmpty());
+    }
+}